@@ -50,7 +50,26 @@ public enum AdminAction {
         int amount = ctx.get("amount");
         CommandSender sender = ctx.getSender();
         gameManager.addSeed(type, amount, sender);
-    }, EnumArgument.of(SeedCategory.SeedType.class, "type"), IntegerArgument.of("amount"));
+    }, EnumArgument.of(SeedCategory.SeedType.class, "type"), IntegerArgument.of("amount")),
+
+    COMPACT((gameManager, ctx) ->
+            gameManager.compactSeeds(ctx.getSender())
+    ),
+
+    STATS((gameManager, ctx) ->
+            gameManager.sendWorldStats(ctx.getSender())
+    ),
+
+    BENCHMARK((gameManager, ctx) -> {
+        int iterations = ctx.getOrDefault("iterations", 10);
+        gameManager.benchmarkWorldStorage(ctx.getSender(), iterations);
+    }, IntegerArgument.optional("iterations")),
+
+    BENCHMARK_SEEDS((gameManager, ctx) -> {
+        SeedCategory.SeedType type = ctx.get("type");
+        int amount = ctx.getOrDefault("amount", 100);
+        gameManager.benchmarkSeedFetching(ctx.getSender(), type, amount);
+    }, EnumArgument.of(SeedCategory.SeedType.class, "type"), IntegerArgument.optional("amount"));
 
     private final BiConsumer<GameManager, CommandContext<CommandSender>> executor;
     private final List<CommandArgument<CommandSender, ?>> arguments;
@@ -122,6 +122,18 @@ public class CommandRegistry {
                         .handler(ctx -> gameManager.sendHelpMessage(ctx.getSender()))
         );
 
+        // Register rank command
+        commandManager.command(
+                commandManager.commandBuilder(BASE_COMMAND)
+                        .literal("rank")
+                        .argument(StringArgument.optional("player"))
+                        .permission(usagePermission)
+                        .handler(ctx -> gameManager.sendRank(
+                                ctx.getSender(),
+                                ctx.getOrDefault("player", null)
+                        ))
+        );
+
         // Register admin commands
         registerAdminCommands(commandManager, gameManager);
     }
@@ -180,7 +192,6 @@ public class CommandRegistry {
 
         CommandArgument<CommandSender, Integer> amountArg = IntegerArgument.<CommandSender>builder("amount")
                 .withMin(1)
-                .withMax(10)
                 .build();
 
         commandManager.command(commandManager.commandBuilder(BASE_COMMAND)
@@ -193,5 +204,72 @@ public class CommandRegistry {
                         AdminAction.SEED.getExecutor().accept(gameManager, ctx)
                 )
         );
+
+        // Admin seed compaction command
+        commandManager.command(
+                commandManager.commandBuilder(BASE_COMMAND)
+                        .literal(adminLiteral)
+                        .literal("compact")
+                        .literal("seeds")
+                        .permission(adminPermission)
+                        .handler(ctx ->
+                                AdminAction.COMPACT.getExecutor().accept(gameManager, ctx)
+                        )
+        );
+
+        // Admin world stats command
+        commandManager.command(
+                commandManager.commandBuilder(BASE_COMMAND)
+                        .literal(adminLiteral)
+                        .literal("stats")
+                        .literal("worlds")
+                        .permission(adminPermission)
+                        .handler(ctx ->
+                                AdminAction.STATS.getExecutor().accept(gameManager, ctx)
+                        )
+        );
+
+        // Admin storage benchmark command
+        CommandArgument<CommandSender, Integer> iterationsArg = IntegerArgument.<CommandSender>builder("iterations")
+                .withMin(1)
+                .withMax(50)
+                .asOptional()
+                .build();
+
+        commandManager.command(
+                commandManager.commandBuilder(BASE_COMMAND)
+                        .literal(adminLiteral)
+                        .literal("benchmark")
+                        .literal("storage")
+                        .argument(iterationsArg)
+                        .permission(adminPermission)
+                        .handler(ctx ->
+                                AdminAction.BENCHMARK.getExecutor().accept(gameManager, ctx)
+                        )
+        );
+
+        // Admin seed fetch benchmark command
+        CommandArgument<CommandSender, SeedCategory.SeedType> benchmarkSeedTypeArg = EnumArgument.of(
+                SeedCategory.SeedType.class,
+                "type"
+        );
+        CommandArgument<CommandSender, Integer> benchmarkAmountArg = IntegerArgument.<CommandSender>builder("amount")
+                .withMin(1)
+                .withMax(1000)
+                .asOptional()
+                .build();
+
+        commandManager.command(
+                commandManager.commandBuilder(BASE_COMMAND)
+                        .literal(adminLiteral)
+                        .literal("benchmark")
+                        .literal("seeds")
+                        .argument(benchmarkSeedTypeArg)
+                        .argument(benchmarkAmountArg)
+                        .permission(adminPermission)
+                        .handler(ctx ->
+                                AdminAction.BENCHMARK_SEEDS.getExecutor().accept(gameManager, ctx)
+                        )
+        );
     }
 }
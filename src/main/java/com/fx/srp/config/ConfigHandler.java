@@ -44,6 +44,45 @@ public final class ConfigHandler {
     @Getter private String overworldPrefix;
     @Getter private String netherPrefix;
     @Getter private String endPrefix;
+    @Getter private boolean worldLazyDimensions;
+
+    // World pool settings
+    @Getter private boolean worldPoolEnabled;
+    @Getter private int worldPoolSize;
+    @Getter private int worldPoolLowWaterMark;
+    @Getter private long worldPoolRefillInterval;
+    @Getter private double worldPoolMinTps;
+
+    // World template settings
+    @Getter private boolean worldTemplatesEnabled;
+    @Getter private long worldTemplatesMaxBytes;
+
+    // World creation settings
+    @Getter private long worldCreationTickBudget;
+
+    // Resource settings
+    @Getter private long resourceMaxDiskBytes;
+    @Getter private int resourceMaxLoadedChunks;
+    @Getter private long resourceSampleInterval;
+
+    // Metrics settings
+    @Getter private long metricsDumpInterval;
+
+    // World storage settings
+    @Getter private String worldStorageRoot;
+    @Getter private boolean worldAutosave;
+
+
+    // Chunk pre-warm settings
+    @Getter private boolean chunkPrewarmEnabled;
+    @Getter private int chunkPrewarmRadius;
+    @Getter private int chunkPrewarmChunksPerTick;
+    @Getter private int chunkPrewarmMaxInFlight;
+
+    // World deletion settings
+    @Getter private int worldDeletionThreads;
+    @Getter private long worldDeletionShutdownTimeout;
+    @Getter private long worldCleanupTickBudget;
 
     // Timer settings
     @Getter private int timerCountdown;
@@ -55,6 +94,8 @@ public final class ConfigHandler {
 
     // Podium settings
     @Getter private int leaderboardMaxEntries;
+    @Getter private int leaderboardJournalCompactEvery;
+    @Getter private boolean leaderboardOneEntryPerPlayer;
     @Getter private String podiumWorldName;
     @Getter private World podiumWorld;
     @Getter private final Map<String, Location> podiumPositions = new ConcurrentHashMap<>();
@@ -69,6 +110,30 @@ public final class ConfigHandler {
     private Map<SeedCategory.SeedType, Integer> seedWeights;
     @Getter private URL filteredSeedsApi;
 
+    // Seed fetch settings
+    @Getter private int seedFetchParallelism;
+    @Getter private int seedFetchMaxRetries;
+    @Getter private long seedFetchRetryDelay;
+    @Getter private long seedFetchTimeout;
+    @Getter private int seedFetchMaxAmount;
+    @Getter private int seedFetchSeedsPerRequest;
+    @Getter private int seedPrefetchBufferSize;
+    @Getter private int seedPrefetchLowWaterMark;
+    @Getter private boolean seedHistoryEnabled;
+    @Getter private boolean seedFileWatchEnabled;
+    @Getter private int seedHistorySize;
+    @Getter private boolean adaptiveSeedWeighting;
+
+    // Local seed server settings
+    @Getter private boolean localSeedServerEnabled;
+    @Getter private int localSeedServerPort;
+    @Getter private long localSeedServerLatency;
+    @Getter private long localSeedServerLatencyJitter;
+    @Getter private double localSeedServerErrorRate;
+    @Getter private double localSeedServerRateLimitRate;
+    @Getter private double localSeedServerMalformedRate;
+    @Getter private long localSeedServerRandomSeed;
+
     private ConfigHandler(SpeedRunPlus plugin) {
         this.plugin = plugin;
         loadConfiguration();
@@ -93,10 +158,20 @@ public final class ConfigHandler {
         config = plugin.getConfig();
 
         loadWorldSettings();
+        loadWorldPoolSettings();
+        loadWorldTemplateSettings();
+        loadWorldDeletionSettings();
+        loadChunkPrewarmSettings();
+        loadWorldStorageSettings();
+        loadWorldCreationSettings();
+        loadMetricsSettings();
+        loadResourceSettings();
         loadTimerSettings();
         loadAFKSettings();
         loadPodiumSettings();
         loadGameRules();
+        loadSeedFetchSettings();
+        loadLocalSeedServerSettings();
     }
 
     private void loadWorldSettings() {
@@ -110,9 +185,57 @@ public final class ConfigHandler {
         overworldPrefix = config.getString("world-prefix.overworld", "srp-overworld-");
         netherPrefix = config.getString("world-prefix.nether", "srp-nether-");
         endPrefix = config.getString("world-prefix.end", "srp-end-");
+        worldLazyDimensions = config.getBoolean("worlds.lazy-dimensions", false);
         podiumWorldName = config.getString("podium.world", mainOverworldName);
     }
 
+    private void loadWorldPoolSettings() {
+        worldPoolEnabled = config.getBoolean("worlds.pool.enabled", false);
+        worldPoolSize = Math.max(0, config.getInt("worlds.pool.size", 2));
+        worldPoolLowWaterMark = Math.min(worldPoolSize, Math.max(0, config.getInt("worlds.pool.low-water-mark", 1)));
+        worldPoolRefillInterval = Math.max(1L, config.getLong("worlds.pool.refill-interval-ticks", 100));
+        worldPoolMinTps = config.getDouble("worlds.pool.min-tps", 18.0);
+    }
+
+    private void loadWorldTemplateSettings() {
+        worldTemplatesEnabled = config.getBoolean("worlds.templates.enabled", false);
+        worldTemplatesMaxBytes = Math.max(0L, config.getLong("worlds.templates.max-size-mb", 512)) * 1024 * 1024;
+    }
+
+    private void loadWorldDeletionSettings() {
+        worldDeletionThreads = Math.max(1, config.getInt("worlds.deletion.threads", 1));
+        worldDeletionShutdownTimeout = Math.max(0L, config.getLong("worlds.deletion.shutdown-timeout-seconds", 10));
+        worldCleanupTickBudget = Math.max(1L, config.getLong("worlds.deletion.cleanup-tick-budget-ms", 5));
+    }
+
+    private void loadChunkPrewarmSettings() {
+        chunkPrewarmEnabled = config.getBoolean("worlds.prewarm.enabled", false);
+        chunkPrewarmRadius = Math.max(0, config.getInt("worlds.prewarm.radius", 12));
+        chunkPrewarmChunksPerTick = Math.max(1, config.getInt("worlds.prewarm.chunks-per-tick", 8));
+        chunkPrewarmMaxInFlight = Math.max(1, config.getInt("worlds.prewarm.max-in-flight", 32));
+    }
+
+    private void loadWorldStorageSettings() {
+        worldStorageRoot = config.getString("worlds.storage.root", "");
+        worldAutosave = config.getBoolean("worlds.storage.autosave", false);
+    }
+
+
+    private void loadWorldCreationSettings() {
+        worldCreationTickBudget = Math.max(1L, config.getLong("worlds.creation.tick-budget-ms", 20));
+    }
+
+    private void loadMetricsSettings() {
+        long intervalMinutes = Math.max(0L, config.getLong("worlds.metrics.dump-interval-minutes", 10));
+        metricsDumpInterval = intervalMinutes * 60 * 20L;
+    }
+
+    private void loadResourceSettings() {
+        resourceMaxDiskBytes = Math.max(0L, config.getLong("resources.max-disk-mb", 0)) * 1024 * 1024;
+        resourceMaxLoadedChunks = Math.max(0, config.getInt("resources.max-loaded-chunks", 0));
+        resourceSampleInterval = Math.max(1L, config.getLong("resources.sample-interval-seconds", 5)) * 20L;
+    }
+
     private void loadTimerSettings() {
         timerCountdown = config.getInt("timer.countdown-seconds", 10);
     }
@@ -127,6 +250,8 @@ public final class ConfigHandler {
 
     private void loadPodiumSettings() {
         leaderboardMaxEntries = config.getInt("podium.max", 10);
+        leaderboardJournalCompactEvery = Math.max(1, config.getInt("podium.journal-compact-every", 100));
+        leaderboardOneEntryPerPlayer = config.getBoolean("podium.one-entry-per-player", false);
         podiumWorld = podiumWorldName != null ? Bukkit.getWorld(podiumWorldName) : mainOverworld;
         podiumPositions.clear();
         ConfigurationSection podiumSection = config.getConfigurationSection("podium.positions");
@@ -183,5 +308,43 @@ public final class ConfigHandler {
             }
         }
     }
-}
 
+    private void loadSeedFetchSettings() {
+        seedFetchParallelism = Math.max(1, config.getInt("game-rules.filtered-seeds.fetch.parallelism", 4));
+        seedFetchMaxRetries = Math.max(0, config.getInt("game-rules.filtered-seeds.fetch.max-retries", 3));
+        seedFetchRetryDelay = Math.max(1L, config.getLong("game-rules.filtered-seeds.fetch.retry-delay-ms", 500));
+        seedFetchTimeout = Math.max(1L, config.getLong("game-rules.filtered-seeds.fetch.timeout-seconds", 10));
+        seedFetchMaxAmount = Math.max(1, config.getInt("game-rules.filtered-seeds.fetch.max-amount", 50));
+        seedFetchSeedsPerRequest = Math.max(1, config.getInt("game-rules.filtered-seeds.fetch.seeds-per-request", 1));
+        seedPrefetchBufferSize = Math.max(0, config.getInt("game-rules.filtered-seeds.prefetch.buffer-size", 0));
+        seedPrefetchLowWaterMark = Math.max(0, config.getInt("game-rules.filtered-seeds.prefetch.low-water-mark", 2));
+        seedFileWatchEnabled = config.getBoolean("game-rules.filtered-seeds.watch-seed-files", true);
+        seedHistoryEnabled = config.getBoolean("game-rules.filtered-seeds.history.enabled", true);
+        seedHistorySize = Math.max(1, config.getInt("game-rules.filtered-seeds.history.size", 100));
+        adaptiveSeedWeighting = config.getBoolean("game-rules.filtered-seeds.adaptive-weighting", false);
+    }
+
+    private void loadLocalSeedServerSettings() {
+        String path = "game-rules.filtered-seeds.local-server.";
+        localSeedServerEnabled = config.getBoolean(path + "enabled", false);
+        localSeedServerPort = Math.max(1, Math.min(65535, config.getInt(path + "port", 8765)));
+        localSeedServerLatency = Math.max(0L, config.getLong(path + "latency-ms", 0));
+        localSeedServerLatencyJitter = Math.max(0L, config.getLong(path + "latency-jitter-ms", 0));
+        localSeedServerErrorRate = clampRate(config.getDouble(path + "error-rate", 0.0));
+        localSeedServerRateLimitRate = clampRate(config.getDouble(path + "rate-limit-rate", 0.0));
+        localSeedServerMalformedRate = clampRate(config.getDouble(path + "malformed-rate", 0.0));
+        localSeedServerRandomSeed = config.getLong(path + "random-seed", 0L);
+
+        // The local seed server stands in for the seeds API
+        if (!localSeedServerEnabled) return;
+        try {
+            filteredSeedsApi = new URL("http://127.0.0.1:" + localSeedServerPort + "/getRandomUsedSeed/");
+        } catch (MalformedURLException e) {
+            logger.warning("[SRP] Invalid local seed server URL");
+        }
+    }
+
+    private static double clampRate(double rate) {
+        return Math.max(0.0, Math.min(1.0, rate));
+    }
+}
@@ -5,6 +5,7 @@ import com.fx.srp.managers.GameManager;
 import com.fx.srp.model.EyeThrow;
 import com.fx.srp.model.player.Speedrunner;
 import com.fx.srp.model.run.Speedrun;
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
 import lombok.AllArgsConstructor;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -15,7 +16,9 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPortalEvent;
 import org.bukkit.event.entity.EntitySpawnEvent;
+import org.bukkit.event.player.PlayerPortalEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
 
 import java.util.Comparator;
@@ -51,7 +54,8 @@ public class WorldEventListener implements Listener {
 
         // Ensure the event was in the speedrun end world
         Optional<Speedrunner> runner = gameManager.getSpeedrunner(player);
-        if (runner.isEmpty() || !runner.get().getWorldSet().getEnd().getName().equals(world.getName())) return;
+        MultiverseWorld end = runner.map(speedrunner -> speedrunner.getWorldSet().getEnd()).orElse(null);
+        if (end == null || !end.getName().equals(world.getName())) return;
 
         // Cancel all teleport events in the speedrun end world
         event.setCancelled(true);
@@ -71,6 +75,33 @@ public class WorldEventListener implements Listener {
         gameManager.completeRun(speedrun, player);
     }
 
+    /**
+     * Handles {@link PlayerPortalEvent} for lazily created dimensions.
+     *
+     * <p>Runs first, such that the portal event is held before Multiverse-NetherPortals handles it while the
+     * target dimension of the speedrun is still being created.</p>
+     *
+     * @param event the player portal event
+     */
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onPlayerPortal(PlayerPortalEvent event) {
+        if (!configHandler.isWorldLazyDimensions()) return;
+        gameManager.handlePlayerPortal(event);
+    }
+
+    /**
+     * Handles {@link EntityPortalEvent} for lazily created dimensions.
+     *
+     * <p>Keeps entities in the speedrun overworld while the dimension behind the portal does not exist yet.</p>
+     *
+     * @param event the entity portal event
+     */
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onEntityPortal(EntityPortalEvent event) {
+        if (!configHandler.isWorldLazyDimensions()) return;
+        gameManager.handleEntityPortal(event);
+    }
+
     /**
      * Handles {@link EntitySpawnEvent} for assisted triangulation.
      *
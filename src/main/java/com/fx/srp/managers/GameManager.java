@@ -7,6 +7,7 @@ import com.fx.srp.managers.gamemodes.CoopManager;
 import com.fx.srp.commands.GameMode;
 import com.fx.srp.managers.util.AfkManager;
 import com.fx.srp.managers.util.LeaderboardManager;
+import com.fx.srp.managers.util.LeaderboardRanking;
 import com.fx.srp.managers.util.SeedManager;
 import com.fx.srp.managers.util.TriangulationManager;
 import com.fx.srp.managers.util.WorldManager;
@@ -17,13 +18,19 @@ import com.fx.srp.model.run.SoloSpeedrun;
 import com.fx.srp.model.run.BattleSpeedrun;
 import com.fx.srp.model.run.CoopSpeedrun;
 import com.fx.srp.model.seed.SeedCategory;
+import com.fx.srp.model.world.WorldDimension;
+import com.fx.srp.util.time.TimeFormatter;
 import lombok.NonNull;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.Material;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityPortalEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerPortalEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
 
 import java.util.List;
@@ -57,6 +64,7 @@ public class GameManager {
     private final AfkManager afkManager;
     private final LeaderboardManager leaderboardManager;
     private final TriangulationManager triangulationManager;
+    private final WorldManager worldManager;
 
     /**
      * Constructs a new {@link GameManager} and initializes all sub-managers
@@ -70,7 +78,7 @@ public class GameManager {
         this.leaderboardManager = new LeaderboardManager(plugin);
         this.seedManager = new SeedManager(plugin);
         this.triangulationManager = new TriangulationManager();
-        WorldManager worldManager = new WorldManager(plugin, seedManager);
+        this.worldManager = new WorldManager(plugin, seedManager);
 
         // Game mode managers
         this.soloManager = new SoloManager(plugin, this, worldManager);
@@ -157,14 +165,26 @@ public class GameManager {
 
         // Persist changes to the leaderboard
         leaderboardManager.finishRun(player, run.getStopWatch().getTime());
+
+        // Credit the seed with the completion
+        seedManager.recordOutcome(run.getSeed(), true, run.getResets(), run.getStopWatch().getTime());
     }
 
     /**
      * Abort all active runs.
      */
     public void abortAllRuns() {
-        // Abort all runs
-        ActiveRunRegistry.getINSTANCE().getAllRuns().forEach(run -> abortRun(run, null, null));
+        // Abort all runs, without holding it against their seeds
+        ActiveRunRegistry.getINSTANCE().getAllRuns().forEach(run -> endRun(run, null, null));
+    }
+
+    /**
+     * Stops background work of the sub-managers, called when the plugin is disabled.
+     */
+    public void shutdown() {
+        worldManager.shutdown();
+        seedManager.shutdown();
+        leaderboardManager.shutdown();
     }
 
     /**
@@ -182,6 +202,15 @@ public class GameManager {
      * @param run the {@code Speedrun} to abort
      */
     public void abortRun(@NonNull Speedrun run, CommandSender sender, String reason) {
+        // Record the seed as abandoned, if the run was actually being played
+        if (run.getState() == Speedrun.State.RUNNING) {
+            seedManager.recordOutcome(run.getSeed(), false, run.getResets(), run.getStopWatch().getTime());
+        }
+
+        endRun(run, sender, reason);
+    }
+
+    private void endRun(Speedrun run, CommandSender sender, String reason) {
         // Delegate to the appropriate manager for mode-specific cleanup
         run.getGameMode().getManager().abort(run, sender, reason);
 
@@ -299,6 +328,47 @@ public class GameManager {
         );
     }
 
+    /**
+     * Handles player portal events leading out of a speedrun overworld.
+     *
+     * <p>With lazy dimensions enabled, the event is cancelled while the target dimension of the speedrunner's
+     * world set is being created. As the player remains in the portal, the event fires again once the dimension
+     * is ready and linked.</p>
+     *
+     * @param event the {@link PlayerPortalEvent} triggered
+     */
+    public void handlePlayerPortal(PlayerPortalEvent event) {
+        WorldDimension dimension;
+        if (event.getCause() == PlayerTeleportEvent.TeleportCause.NETHER_PORTAL) dimension = WorldDimension.NETHER;
+        else if (event.getCause() == PlayerTeleportEvent.TeleportCause.END_PORTAL) dimension = WorldDimension.END;
+        else return;
+
+        getSpeedrunner(event.getPlayer()).ifPresent(speedrunner -> {
+            WorldManager.WorldSet worldSet = speedrunner.getWorldSet();
+            if (!worldSet.getOverworld().getName().equals(event.getFrom().getWorld().getName())) return;
+            if (worldManager.ensureDimension(worldSet, dimension)) return;
+
+            event.setCancelled(true);
+            event.getPlayer().sendActionBar(ChatColor.YELLOW + "Generating the " + dimension.name().toLowerCase()
+                    + "...");
+        });
+    }
+
+    /**
+     * Handles entity portal events, preventing entities from leaving a speedrun overworld through a portal
+     * into a dimension which has not been created yet.
+     *
+     * @param event the {@link EntityPortalEvent} triggered
+     */
+    public void handleEntityPortal(EntityPortalEvent event) {
+        WorldDimension dimension = getPortalDimension(event.getFrom().getBlock().getType());
+        if (dimension == null) return;
+
+        if (worldManager.isMissingDimension(event.getFrom().getWorld(), dimension)) {
+            event.setCancelled(true);
+        }
+    }
+
     /* ==========================================================
      *                      AFK Monitoring
      * ========================================================== */
@@ -314,6 +384,112 @@ public class GameManager {
     /* ==========================================================
      *                     Utilities
      * ========================================================== */
+    private WorldDimension getPortalDimension(Material portal) {
+        if (portal == Material.NETHER_PORTAL) return WorldDimension.NETHER;
+        if (portal == Material.END_PORTAL) return WorldDimension.END;
+        return null;
+    }
+
+    /**
+     * Sends the world lifecycle metrics, along with the state of the world pool and deletion queue.
+     *
+     * @param sender the command sender to send the metrics to
+     */
+    public void sendWorldStats(CommandSender sender) {
+        ChatColor red = ChatColor.RED;
+        ChatColor white = ChatColor.WHITE;
+
+        sender.sendMessage(red + "===== SpeedRunPlus World Stats =====");
+        sender.sendMessage(red + "Pool: " + white + worldManager.getWorldPool().size() + " ready, "
+                + worldManager.getWorldPool().getHits() + " hits, " + worldManager.getWorldPool().getMisses()
+                + " misses");
+        sender.sendMessage(red + "Deletion queue: " + white + worldManager.getDeletionQueue().getQueueDepth()
+                + " pending, " + worldManager.getDeletionQueue().getBytesReclaimed() / (1024 * 1024) + " MB reclaimed");
+        sender.sendMessage(red + "Resources: " + white
+                + worldManager.getResourceGovernor().getTotalDiskBytes() / (1024 * 1024) + " MB on disk, "
+                + worldManager.getResourceGovernor().getTotalLoadedChunks() + " loaded chunks, "
+                + worldManager.getResourceGovernor().getQueueLength() + " runs queued");
+        worldManager.getMetrics().report().forEach(line -> sender.sendMessage(white + line));
+        sender.sendMessage(red + "===========================");
+    }
+
+    /**
+     * Benchmarks the world storage locations, sending the results once done.
+     *
+     * @param sender     the command sender to send the results to
+     * @param iterations the number of world folders to create and delete per storage location
+     */
+    public void benchmarkWorldStorage(CommandSender sender, int iterations) {
+        ChatColor red = ChatColor.RED;
+        ChatColor white = ChatColor.WHITE;
+
+        sender.sendMessage(red + "Benchmarking world storage...");
+        worldManager.benchmarkStorage(iterations, report -> {
+            sender.sendMessage(red + "===== SpeedRunPlus Storage Benchmark =====");
+            report.forEach(line -> sender.sendMessage(white + line));
+            sender.sendMessage(red + "===========================");
+        });
+    }
+
+    /**
+     * Benchmarks fetching seeds from the seeds API (or the local seed server), sending the results once done.
+     *
+     * @param sender   the command sender to send the results to
+     * @param seedType the type of seeds to fetch
+     * @param amount   the number of seeds to fetch
+     */
+    public void benchmarkSeedFetching(CommandSender sender, SeedCategory.SeedType seedType, int amount) {
+        ChatColor red = ChatColor.RED;
+        ChatColor white = ChatColor.WHITE;
+
+        if (seedType == SeedCategory.SeedType.RANDOM) {
+            sender.sendMessage(red + "Seeds of this type are not fetched!");
+            return;
+        }
+
+        sender.sendMessage(red + "Benchmarking seed fetching...");
+        seedManager.benchmarkFetch(seedType, amount, report -> {
+            sender.sendMessage(red + "===== SpeedRunPlus Seed Fetch Benchmark =====");
+            report.forEach(line -> sender.sendMessage(white + line));
+            sender.sendMessage(red + "===========================");
+        });
+    }
+
+    /**
+     * Sends the personal best and rank of a player to the given {@link CommandSender}.
+     *
+     * @param sender     the command sender to send the rank to
+     * @param playerName the name of the player, or {@code null} for the sender itself
+     */
+    public void sendRank(CommandSender sender, String playerName) {
+        ChatColor red = ChatColor.RED;
+        ChatColor yellow = ChatColor.YELLOW;
+        ChatColor white = ChatColor.WHITE;
+
+        if (playerName == null && !(sender instanceof Player)) {
+            sender.sendMessage(red + "Specify a player: /srp rank <player>");
+            return;
+        }
+
+        // Look up the personal best by UUID for online players, by name otherwise
+        LeaderboardRanking ranking = leaderboardManager.getRanking();
+        Player player = playerName == null ? (Player) sender : Bukkit.getPlayerExact(playerName);
+        LeaderboardManager.RunEntry best = player != null
+                ? ranking.getPersonalBest(player.getUniqueId())
+                : ranking.findPersonalBest(playerName);
+        if (best == null) {
+            String name = player != null ? player.getName() : playerName;
+            sender.sendMessage(red + name + " has not finished a speedrun yet!");
+            return;
+        }
+
+        int place = ranking.getPlace(best);
+        sender.sendMessage(yellow + best.playerName + white + " - personal best "
+                + new TimeFormatter(best.time).withHours().withSuffixes().format()
+                + ", rank #" + ranking.getRank(best.playerUUID) + " of " + ranking.getPlayerCount() + " players"
+                + (place > 0 ? ", #" + place + " on the podium" : ""));
+    }
+
     /**
      * Unload the podium
      */
@@ -336,6 +512,13 @@ public class GameManager {
         seedManager.addSeedAsync(seedType, amount, sender);
     }
 
+    /**
+     * Compact the seed files, removing duplicate and invalid seeds
+     */
+    public void compactSeeds(CommandSender sender) {
+        seedManager.compactSeedsAsync(sender);
+    }
+
     /**
      * Send a help message to the given {@link CommandSender}
      *
@@ -348,6 +531,7 @@ public class GameManager {
 
         sender.sendMessage(green + "===== SpeedRunPlus Help =====");
         sender.sendMessage(yellow + "/srp help" + white + " - Show this help message");
+        sender.sendMessage(yellow + "/srp rank [player]" + white + " - Show a personal best and its rank");
         sender.sendMessage("");
         sender.sendMessage(yellow + "/srp solo start" + white + " - Start a solo speedrun");
         sender.sendMessage(yellow + "/srp solo reset" + white + " - Reset your solo speedrun");
@@ -383,6 +567,13 @@ public class GameManager {
         sender.sendMessage(red + "/srp admin podium <load|unload>" + white + " - Load/Unload the podium");
         sender.sendMessage("");
         sender.sendMessage(red + "/srp admin seed <type> <amount>" + white + " - Add new filtered seeds");
+        sender.sendMessage(red + "/srp admin compact seeds" + white + " - Deduplicate and sort the seed files");
+        sender.sendMessage("");
+        sender.sendMessage(red + "/srp admin stats worlds" + white + " - Show world lifecycle metrics");
+        sender.sendMessage(red + "/srp admin benchmark storage [iterations]" + white
+                + " - Compare world folder create/delete latency");
+        sender.sendMessage(red + "/srp admin benchmark seeds <type> [amount]" + white
+                + " - Measure seed fetching throughput");
         sender.sendMessage(red + "===========================");
     }
 }
@@ -55,6 +55,10 @@ public class BattleManager extends MultiplayerGameModeManager<BattleSpeedrun> {
         Player challenger = getRequestSender(challengee);
         if (challenger == null) return;
 
+        admit(List.of(challenger, challengee), () -> startBattle(challenger, challengee));
+    }
+
+    private void startBattle(Player challenger, Player challengee) {
         // Setup stopwatch
         StopWatch stopWatch = new StopWatch();
         Speedrunner challengerSpeedrunner = new Speedrunner(challenger, stopWatch);
@@ -78,6 +82,11 @@ public class BattleManager extends MultiplayerGameModeManager<BattleSpeedrun> {
         challenger.sendMessage(ChatColor.YELLOW + "Creating the world...");
         challengee.sendMessage(ChatColor.YELLOW + "Creating the world...");
         worldManager.createWorldsForPlayers(List.of(challenger, challengee), null, sets -> {
+            if (sets == null) {
+                gameManager.abortRun(battleSpeedrun, null, WORLD_CREATION_FAILED);
+                return;
+            }
+
             // Get the set of worlds (overworld, nether, end) for each of the two players
             WorldManager.WorldSet challengerWorldSet = sets.get(challenger.getUniqueId());
             WorldManager.WorldSet challengeeWorldSet = sets.get(challengee.getUniqueId());
@@ -92,8 +101,8 @@ public class BattleManager extends MultiplayerGameModeManager<BattleSpeedrun> {
             challengeeSpeedrunner.freeze();
 
             // Teleport players
-            challenger.teleport(challengerSpeedrunner.getWorldSet().getSpawn());
-            challengee.teleport(challengeeSpeedrunner.getWorldSet().getSpawn());
+            worldManager.teleportToSpawn(challenger, challengerSpeedrunner.getWorldSet());
+            worldManager.teleportToSpawn(challengee, challengeeSpeedrunner.getWorldSet());
 
             // Reset players' state (health, hunger, inventory, etc.)
             challengerSpeedrunner.resetState();
@@ -133,6 +142,7 @@ public class BattleManager extends MultiplayerGameModeManager<BattleSpeedrun> {
         Long seed = battleSpeedrun.getSeed();
 
         player.sendMessage(ChatColor.YELLOW + "Resetting the world...");
+        battleSpeedrun.incrementResets();
 
         recreateWorldsForReset(speedrunner.get(), seed, () -> {});
     }
@@ -53,6 +53,10 @@ public class CoopManager extends MultiplayerGameModeManager<CoopSpeedrun> {
         Player leader = getRequestSender(partner);
         if (leader == null) return;
 
+        admit(List.of(leader, partner), () -> startCoop(leader, partner));
+    }
+
+    private void startCoop(Player leader, Player partner) {
         // Setup stopwatch
         StopWatch stopWatch = new StopWatch();
         Speedrunner leaderSpeedrunner = new Speedrunner(leader, stopWatch);
@@ -76,6 +80,11 @@ public class CoopManager extends MultiplayerGameModeManager<CoopSpeedrun> {
         leader.sendMessage(ChatColor.YELLOW + "Creating the world...");
         partner.sendMessage(ChatColor.YELLOW + "Creating the world...");
         worldManager.createWorldsForPlayers(List.of(leader), null, sets -> {
+            if (sets == null) {
+                gameManager.abortRun(coopSpeedrun, null, WORLD_CREATION_FAILED);
+                return;
+            }
+
             // Get the set of worlds (overworld, nether, end) for each of the two players
             WorldManager.WorldSet leaderWorldSet = sets.get(leader.getUniqueId());
 
@@ -89,8 +98,8 @@ public class CoopManager extends MultiplayerGameModeManager<CoopSpeedrun> {
             partnerSpeedrunner.freeze();
 
             // Teleport players
-            leader.teleport(leaderSpeedrunner.getWorldSet().getSpawn());
-            partner.teleport(partnerSpeedrunner.getWorldSet().getSpawn());
+            worldManager.teleportToSpawn(leader, leaderSpeedrunner.getWorldSet());
+            worldManager.teleportToSpawn(partner, partnerSpeedrunner.getWorldSet());
 
             // Reset players' state (health, hunger, inventory, etc.)
             leaderSpeedrunner.resetState();
@@ -3,6 +3,8 @@ package com.fx.srp.managers.gamemodes;
 import com.fx.srp.SpeedRunPlus;
 import com.fx.srp.config.ConfigHandler;
 import com.fx.srp.managers.GameManager;
+import com.fx.srp.managers.util.ChunkPrewarmer;
+import com.fx.srp.managers.util.ResourceGovernor;
 import com.fx.srp.managers.util.WorldManager;
 import com.fx.srp.model.player.Speedrunner;
 import com.fx.srp.model.run.Speedrun;
@@ -18,7 +20,9 @@ import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Consumer;
 
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -39,6 +43,8 @@ import java.util.UUID;
 @AllArgsConstructor
 public abstract class GameModeManager<T extends Speedrun> implements IGameModeManager {
 
+    protected static final String WORLD_CREATION_FAILED = "the world could not be created";
+
     protected final ConfigHandler configHandler = ConfigHandler.getInstance();
     protected final SpeedRunPlus plugin;
 
@@ -71,6 +77,19 @@ public abstract class GameModeManager<T extends Speedrun> implements IGameModeMa
         run.setState(Speedrun.State.CREATING_WORLDS);
     }
 
+    /**
+     * Starts a run for the given players once admitted by the {@link ResourceGovernor}.
+     *
+     * <p>If the active runs exceed a resource budget, the run is queued and the players are told their
+     * position in the queue.</p>
+     *
+     * @param players the players of the run
+     * @param start starts the run once admitted
+     */
+    protected void admit(Collection<Player> players, Runnable start) {
+        worldManager.getResourceGovernor().admit(players, start);
+    }
+
     /* ==========================================================
      *                COMMON COUNTDOWN LOGIC
      * ========================================================== */
@@ -80,15 +99,24 @@ public abstract class GameModeManager<T extends Speedrun> implements IGameModeMa
      * <p>After a short delay, the run will transition to the running state,
      * the stopwatch will start, and players will be un-frozen.</p>
      *
+     * <p>During the countdown, the chunks around the spawn of each world set are pre-warmed by the
+     * {@link ChunkPrewarmer}, and its progress is shown in the countdown subtitle.</p>
+     *
      * @param run the run to start
      * @param players the collection of {@link Speedrunner}s participating
      */
     protected void startCountdown(T run, Collection<Speedrunner> players) {
+        // Pre-warm the spawn chunks of each world set (shared by coop partners) during the countdown
+        Map<WorldManager.WorldSet, ChunkPrewarmer.Job> jobs = new IdentityHashMap<>();
+        players.forEach(p -> jobs.computeIfAbsent(p.getWorldSet(), worldSet ->
+                worldManager.getChunkPrewarmer().prewarm(worldSet.getSpawn())
+        ));
+
         // Delay slightly to let the world load
-        Bukkit.getScheduler().runTaskLater(plugin, () -> start(run, players), 20L);
+        Bukkit.getScheduler().runTaskLater(plugin, () -> start(run, players, jobs), 20L);
     }
 
-    private void start(T run, Collection<Speedrunner> players) {
+    private void start(T run, Collection<Speedrunner> players, Map<WorldManager.WorldSet, ChunkPrewarmer.Job> jobs) {
         // Create the timer and update the game state
         run.setState(Speedrun.State.COUNTDOWN);
         run.initializeTimers();
@@ -100,16 +128,19 @@ public abstract class GameModeManager<T extends Speedrun> implements IGameModeMa
             public void run() {
                 // All players must stay online
                 if (players.stream().anyMatch(p -> !p.getPlayer().isOnline())) {
+                    jobs.values().forEach(ChunkPrewarmer.Job::release);
                     cancel();
                     return;
                 }
 
-                // Countdown text (title)
+                // Countdown text (title), with the pre-warm progress as subtitle
                 if (seconds > 0) {
                     for (Speedrunner p : players) {
+                        ChunkPrewarmer.Job job = jobs.get(p.getWorldSet());
+                        int progress = job != null ? (int) (job.getProgress() * 100) : 100;
                         p.getPlayer().sendTitle(
                                 ChatColor.YELLOW + "Starting in " + seconds + "...",
-                                "",
+                                progress < 100 ? ChatColor.GRAY + "Preparing world: " + progress + "%" : "",
                                 0, 20, 0
                         );
                     }
@@ -117,6 +148,9 @@ public abstract class GameModeManager<T extends Speedrun> implements IGameModeMa
                     return;
                 }
 
+                // The run is starting, the pre-warmed chunks no longer need to be held
+                jobs.values().forEach(ChunkPrewarmer.Job::release);
+
                 // Start stopwatch
                 run.getStopWatch().reset();
                 run.getStopWatch().start();
@@ -141,7 +175,7 @@ public abstract class GameModeManager<T extends Speedrun> implements IGameModeMa
                 // Schedule timeout
                 scheduleTimeoutTask(
                         run,
-                        () -> abort(run, null, "Times up!")
+                        () -> gameManager.abortRun(run, null, "Times up!")
                 );
 
                 cancel();
@@ -178,11 +212,19 @@ public abstract class GameModeManager<T extends Speedrun> implements IGameModeMa
 
         // Create new worlds
         worldManager.createWorldsForPlayers(List.of(player), seed, sets -> {
+            // Continue the run in the current worlds
+            if (sets == null) {
+                speedrunner.unfreeze();
+                player.sendMessage(ChatColor.RED + "Failed to create the new world, continuing in the current one!");
+                afterWorldDeletion.run();
+                return;
+            }
+
             WorldManager.WorldSet newWorldSet = sets.get(uuid);
 
             Bukkit.getScheduler().runTask(plugin, () -> {
                 // Teleport- and reset state of player
-                player.teleport(newWorldSet.getSpawn());
+                worldManager.teleportToSpawn(player, newWorldSet);
                 speedrunner.resetState();
 
                 // Unfreeze player & display title
@@ -3,6 +3,7 @@ package com.fx.srp.managers.gamemodes;
 import com.fx.srp.SpeedRunPlus;
 import com.fx.srp.commands.GameMode;
 import com.fx.srp.managers.GameManager;
+import com.fx.srp.managers.util.ResourceGovernor;
 import com.fx.srp.managers.util.WorldManager;
 import com.fx.srp.model.requests.PendingRequest;
 import com.fx.srp.model.run.Speedrun;
@@ -103,6 +104,17 @@ public abstract class MultiplayerGameModeManager<T extends Speedrun>
             return;
         }
 
+        // the server is at capacity
+        ResourceGovernor resourceGovernor = worldManager.getResourceGovernor();
+        if (!resourceGovernor.hasCapacity(2)) {
+            sender.sendMessage(
+                    ChatColor.YELLOW + "The server is at capacity (" +
+                    ChatColor.GRAY + resourceGovernor.getQueueLength() +
+                    ChatColor.YELLOW + " runs queued), please try again later!"
+            );
+            return;
+        }
+
         // Make the request
         PendingRequest request = new PendingRequest(senderUUID);
         pendingRequests.put(targetUUID, request);
@@ -57,6 +57,10 @@ public class SoloManager extends GameModeManager<SoloSpeedrun> {
             return;
         }
 
+        admit(List.of(player), () -> startSoloRun(player));
+    }
+
+    private void startSoloRun(Player player) {
         StopWatch stopWatch = new StopWatch();
         Speedrunner runner = new Speedrunner(player, stopWatch);
         runner.captureState();
@@ -68,6 +72,11 @@ public class SoloManager extends GameModeManager<SoloSpeedrun> {
 
         player.sendMessage(ChatColor.YELLOW + "Creating the world...");
         worldManager.createWorldsForPlayers(List.of(player), null, sets -> {
+            if (sets == null) {
+                gameManager.abortRun(soloSpeedrun, null, WORLD_CREATION_FAILED);
+                return;
+            }
+
             // Get the set of worlds (overworld, nether, end)
             WorldManager.WorldSet worldSet = sets.get(player.getUniqueId());
 
@@ -79,7 +88,7 @@ public class SoloManager extends GameModeManager<SoloSpeedrun> {
             runner.freeze();
 
             // Teleport player
-            player.teleport(worldSet.getSpawn());
+            worldManager.teleportToSpawn(player, worldSet);
 
             // Reset player state (health, hunger, inventory, etc.)
             runner.resetState();
@@ -116,6 +125,7 @@ public class SoloManager extends GameModeManager<SoloSpeedrun> {
         Long seed = soloSpeedrun.getSeed();
 
         player.sendMessage(ChatColor.YELLOW + "Resetting the world...");
+        soloSpeedrun.incrementResets();
         Speedrunner speedrunner = soloSpeedrun.getSpeedrunners().get(0);
 
         recreateWorldsForReset(speedrunner, seed, () -> soloSpeedrun.setState(Speedrun.State.RUNNING));
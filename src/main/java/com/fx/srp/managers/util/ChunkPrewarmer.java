@@ -0,0 +1,195 @@
+package com.fx.srp.managers.util;
+
+import com.fx.srp.SpeedRunPlus;
+import com.fx.srp.config.ConfigHandler;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Loads (or generates) the chunks around the spawn of a speedrun while its countdown is running.
+ *
+ * <p>Chunks are requested through Paper's asynchronous chunk API, nearest to the spawn first. A repeating task
+ * hands out a shared per-tick budget of chunk requests to all pre-warm jobs in round-robin order, such that
+ * several concurrent runs do not starve the main thread; the number of requests in flight is capped as well. Loaded
+ * chunks are held by a plugin chunk ticket until the job is released, which is expected once the run has
+ * started.</p>
+ *
+ * <p>The spawn chunks of worlds that keep their spawn in memory are loaded by the server already, and skipped.</p>
+ *
+ * <p>All methods must be called from the main server thread.</p>
+ */
+public class ChunkPrewarmer {
+
+    private final ConfigHandler configHandler = ConfigHandler.getInstance();
+    private final SpeedRunPlus plugin;
+
+    // Radius of the spawn chunks the server keeps loaded
+    private static final int SPAWN_CHUNK_RADIUS = 11;
+
+    private final Deque<Job> jobs = new ArrayDeque<>();
+    private BukkitTask task;
+    private int inFlight;
+
+    /**
+     * A pre-warm job for the chunks around a single spawn location.
+     */
+    public final class Job {
+        private final World world;
+        private final Deque<long[]> remaining;
+        private final List<Chunk> loaded = new ArrayList<>();
+        @Getter private final int total;
+        private int completed;
+        private boolean released;
+
+        private Job(World world, Deque<long[]> remaining) {
+            this.world = world;
+            this.remaining = remaining;
+            this.total = remaining.size();
+        }
+
+        /**
+         * Returns the fraction of chunks that have been loaded.
+         *
+         * @return the progress, between {@code 0.0} and {@code 1.0}
+         */
+        public double getProgress() {
+            return total == 0 ? 1.0 : (double) completed / total;
+        }
+
+        /**
+         * Stops the job and releases the chunk tickets it holds, allowing the chunks to unload again.
+         */
+        public void release() {
+            if (released) return;
+            released = true;
+            jobs.remove(this);
+
+            if (Bukkit.getWorld(world.getUID()) != null) loaded.forEach(chunk -> chunk.removePluginChunkTicket(plugin));
+            loaded.clear();
+        }
+    }
+
+    /**
+     * Constructs a chunk pre-warmer.
+     *
+     * @param plugin the main plugin instance, used for scheduling and chunk tickets
+     */
+    public ChunkPrewarmer(SpeedRunPlus plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts loading the chunks within the configured radius around a location.
+     *
+     * @param center the location to pre-warm, typically the spawn of a world set
+     * @return the pre-warm job, which must be released once the chunks no longer need to be held
+     */
+    public Job prewarm(Location center) {
+        World world = center.getWorld();
+        int radius = configHandler.isChunkPrewarmEnabled() ? configHandler.getChunkPrewarmRadius() : -1;
+        int centerX = center.getBlockX() >> 4;
+        int centerZ = center.getBlockZ() >> 4;
+        Location spawn = world.getSpawnLocation();
+        int spawnX = spawn.getBlockX() >> 4;
+        int spawnZ = spawn.getBlockZ() >> 4;
+        boolean spawnLoaded = world.getKeepSpawnInMemory();
+
+        // Nearest chunks first, skipping the spawn chunks
+        List<long[]> chunks = new ArrayList<>();
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                boolean isSpawnChunk = Math.abs(centerX + x - spawnX) <= SPAWN_CHUNK_RADIUS
+                        && Math.abs(centerZ + z - spawnZ) <= SPAWN_CHUNK_RADIUS;
+                if (spawnLoaded && isSpawnChunk) continue;
+                chunks.add(new long[]{centerX + x, centerZ + z, (long) x * x + (long) z * z});
+            }
+        }
+        chunks.sort(Comparator.comparingLong(chunk -> chunk[2]));
+
+        Job job = new Job(world, new ArrayDeque<>(chunks));
+        if (job.total > 0) {
+            jobs.addLast(job);
+            startTask();
+        }
+        return job;
+    }
+
+    /**
+     * Checks whether chunks are currently being pre-warmed.
+     *
+     * @return {@code true} if any pre-warm job is in progress
+     */
+    public boolean isActive() {
+        return task != null || inFlight > 0;
+    }
+
+    /**
+     * Stops the pre-warm task and releases all jobs.
+     */
+    public void stop() {
+        new ArrayList<>(jobs).forEach(Job::release);
+        stopTask();
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private void tick() {
+        // Share the budget between all jobs, bounded by the number of chunk loads still in flight
+        int budget = Math.min(
+                configHandler.getChunkPrewarmChunksPerTick(),
+                configHandler.getChunkPrewarmMaxInFlight() - inFlight
+        );
+        while (budget > 0 && !jobs.isEmpty()) {
+            Job job = jobs.pollFirst();
+
+            // Drop jobs whose world has been unloaded, e.g. after an aborted run
+            if (Bukkit.getWorld(job.world.getUID()) == null) {
+                job.released = true;
+                continue;
+            }
+
+            long[] chunk = job.remaining.pollFirst();
+            if (chunk != null) {
+                request(job, (int) chunk[0], (int) chunk[1]);
+                budget--;
+            }
+
+            // Round-robin between jobs
+            if (!job.remaining.isEmpty()) jobs.addLast(job);
+        }
+
+        if (jobs.isEmpty()) stopTask();
+    }
+
+    private void request(Job job, int x, int z) {
+        inFlight++;
+        job.world.getChunkAtAsync(x, z, true).whenComplete((chunk, throwable) -> {
+            inFlight--;
+            job.completed++;
+            if (chunk == null || job.released) return;
+
+            chunk.addPluginChunkTicket(plugin);
+            job.loaded.add(chunk);
+        });
+    }
+
+    private void startTask() {
+        if (task == null) task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 0L, 1L);
+    }
+
+    private void stopTask() {
+        if (task != null) task.cancel();
+        task = null;
+    }
+}
@@ -3,33 +3,32 @@ package com.fx.srp.managers.util;
 import com.fx.srp.SpeedRunPlus;
 import com.fx.srp.config.ConfigHandler;
 import com.fx.srp.util.time.TimeFormatter;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.Material;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.World;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.EntityEquipment;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.SkullMeta;
 
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.util.*;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 /**
  * Manages the speedrun leaderboard, including persistent storage and visual podium display.
  *
- * <p>This manager tracks completed runs, stores them in a file, sorts them by completion
- * time, and updates an in-game podium using Armor Stands to display player heads and times.</p>
+ * <p>This manager tracks completed runs, persists them in a {@link RunJournal}, ranks them by completion
+ * time in a {@link LeaderboardRanking}, and updates an in-game podium using Armor Stands to display player heads
+ * and times.</p>
  *
- * <p>The leaderboard stores a maximum of 10 entries and automatically updates the
- * podium positions in the configured world.</p>
+ * <p>The leaderboard stores a maximum of 10 entries (optionally one per player) and automatically updates the
+ * podium positions in the configured world. Player heads come from a {@link PlayerHeadCache}, such that skins are
+ * looked up off the main thread. The armor stands spawned for each position are remembered, such that an
+ * update only renames or re-equips the stands of the positions that changed, rather than respawning the podium.</p>
  */
 public class LeaderboardManager {
 
@@ -37,8 +36,15 @@ public class LeaderboardManager {
     private final ConfigHandler configHandler = ConfigHandler.getInstance();
     private final SpeedRunPlus plugin;
 
-    private final File dataFile;
-    private final List<RunEntry> leaderboard = new ArrayList<>();
+    private final RunJournal journal;
+    private final PlayerHeadCache headCache;
+    @Getter private LeaderboardRanking ranking;
+
+    // The armor stands currently shown at each podium position, main thread only
+    private final List<PodiumSlot> podiumSlots = new ArrayList<>();
+
+    // Whether the podium world has been scanned for stray stands since the podium was (un)loaded
+    private boolean strayStandsCleared;
 
     private static final String PODIUM_TAG = "srp_podium";
 
@@ -49,6 +55,7 @@ public class LeaderboardManager {
         public String playerName;
         public UUID playerUUID;
         public long time; // milliseconds
+        public long finishedAt; // epoch milliseconds, 0 if unknown
 
         /**
          * Constructs a new {@code RunEntry}.
@@ -56,11 +63,13 @@ public class LeaderboardManager {
          * @param playerName the name of the player
          * @param playerUUID the UUID of the player
          * @param time       the completion time in milliseconds
+         * @param finishedAt the moment the run was finished in epoch milliseconds, or {@code 0} if unknown
          */
-        public RunEntry(String playerName, UUID playerUUID, long time) {
+        public RunEntry(String playerName, UUID playerUUID, long time, long finishedAt) {
             this.playerName = playerName;
             this.playerUUID = playerUUID;
             this.time = time;
+            this.finishedAt = finishedAt;
         }
     }
 
@@ -71,8 +80,14 @@ public class LeaderboardManager {
      */
     public LeaderboardManager(SpeedRunPlus plugin) {
         this.plugin = plugin;
-        this.dataFile = new File(plugin.getDataFolder(), "leaderboard.yml");
+        this.journal = new RunJournal(plugin.getDataFolder());
+        this.headCache = new PlayerHeadCache(plugin, this::applyHead);
+        headCache.start();
         loadLeaderboard();
+        journal.start();
+
+        // Start from a fresh snapshot, such that the next recovery does not replay the same runs again
+        if (journal.getJournalEntries() > 0) journal.compact(ranking.snapshot());
         updatePodium();
     }
 
@@ -83,24 +98,38 @@ public class LeaderboardManager {
      * @param time   the completion time in milliseconds
      */
     public void finishRun(Player player, long time) {
-        leaderboard.add(new RunEntry(player.getName(), player.getUniqueId(), time));
-        sortLeaderboard();
-        saveLeaderboard();
-        updatePodium();
+        RunEntry entry = new RunEntry(player.getName(), player.getUniqueId(), time, System.currentTimeMillis());
+        journal.append(entry);
+        boolean boardChanged = ranking.add(entry);
+
+        // Bound the number of runs replayed on the next start-up
+        if (journal.getJournalEntries() >= configHandler.getLeaderboardJournalCompactEvery()) {
+            journal.compact(ranking.snapshot());
+        }
+        if (boardChanged) updatePodium();
+    }
+
+    /**
+     * Writes the pending runs and compacts the journal, called when the plugin is disabled.
+     */
+    public void shutdown() {
+        headCache.stop();
+        journal.close(ranking.snapshot());
     }
 
     /**
      * Unload the podium by destroying the armor stands
      */
     public void unloadPodium() {
+        podiumSlots.clear();
+        strayStandsCleared = false;
         clearPodium();
     }
 
     /**
-     * Load the podium re-creating armor stands from the leaderboard file
+     * Load the podium re-creating armor stands from the leaderboard
      */
     public void loadPodium() {
-        loadLeaderboard();
         updatePodium();
     }
 
@@ -108,79 +137,111 @@ public class LeaderboardManager {
      *                      Helpers
      * ========================================================== */
     private void loadLeaderboard() {
-        // Cannot load nor create leaderboard directories / file
-        if (!createLeaderboardFileIfNotPresent(dataFile)) return;
-
-        try {
-            List<String> lines = Files.readAllLines(dataFile.toPath());
-            leaderboard.clear();
-            for (String line : lines) {
-                String[] parts = line.split(",");
-                int expectedSize = 3;
-                if (parts.length == expectedSize) {
-                    leaderboard.add(new RunEntry(parts[0], UUID.fromString(parts[1]), Long.parseLong(parts[2])));
-                }
-            }
-            sortLeaderboard();
-        }
-        catch (IOException e) {
-            this.logger.warning("[SRP] Error while trying to load leaderboard: " + e.getMessage());
-        }
-    }
+        ranking = new LeaderboardRanking(
+                configHandler.getLeaderboardMaxEntries(),
+                configHandler.isLeaderboardOneEntryPerPlayer()
+        );
 
-    private void saveLeaderboard() {
-        List<String> lines = leaderboard.stream()
-                .map(e -> e.playerName + "," + e.playerUUID + "," + e.time)
-                .collect(Collectors.toList());
-        try {
-            Files.write(dataFile.toPath(), lines);
-        } catch (IOException e) {
-            this.logger.warning("[SRP] Error while saving leaderboard: " + e.getMessage());
+        // Cannot load nor create leaderboard directories
+        File dataFolder = plugin.getDataFolder();
+        if (!dataFolder.exists() && !dataFolder.mkdirs()) {
+            logger.warning("[SRP] Failed to create directories for leaderboard: " + dataFolder.getAbsolutePath());
+            return;
         }
+
+        journal.recover().forEach(ranking::add);
     }
 
     private void updatePodium() {
-        if (leaderboard.isEmpty()) {
-            return;
-        }
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            World world = configHandler.getPodiumWorld();
+            if (world == null) return;
 
-        clearPodium();
-        List<Location> locations = new ArrayList<>(configHandler.getPodiumPositions().values());
-        World world = configHandler.getPodiumWorld();
+            // Only scan the world for stray stands when the podium is built from scratch, even if it stays empty
+            if (!strayStandsCleared) {
+                clearPodium();
+                strayStandsCleared = true;
+            }
 
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            int count = Math.min(leaderboard.size(), locations.size());
-            for (int i = 0; i < count; i++) {
-                createPodiumEntry(leaderboard.get(i), locations.get(i), world);
+            List<Location> locations = new ArrayList<>(configHandler.getPodiumPositions().values());
+            Iterator<RunEntry> entries = ranking.getBoard().iterator();
+            for (int i = 0; i < locations.size(); i++) {
+                updatePodiumSlot(i, entries.hasNext() ? entries.next() : null, locations.get(i), world);
+            }
+
+            // Positions removed from the configuration
+            while (podiumSlots.size() > locations.size()) {
+                removePodiumSlot(podiumSlots.remove(podiumSlots.size() - 1));
             }
         });
     }
 
-    private void sortLeaderboard() {
-        leaderboard.sort(Comparator.comparingLong(e -> e.time));
-        if (leaderboard.size() > configHandler.getLeaderboardMaxEntries()) {
-            leaderboard.subList(configHandler.getLeaderboardMaxEntries(), leaderboard.size()).clear();
-        }
-    }
+    private void updatePodiumSlot(int index, RunEntry run, Location baseLoc, World world) {
+        PodiumSlot slot = index < podiumSlots.size() ? podiumSlots.get(index) : null;
+        if (slot != null && slot.run == run && slot.baseLoc.equals(baseLoc)) return;
 
-    private boolean createLeaderboardFileIfNotPresent(File file) {
-        try {
-            File parent = file.getParentFile();
-            if (parent != null && !parent.exists() && !parent.mkdirs()) {
-                logger.warning("[SRP] Failed to create directories for leaderboard: " + parent.getAbsolutePath());
-                return false;
+        // The position became empty
+        if (run == null) {
+            if (slot != null) {
+                removePodiumSlot(slot);
+                podiumSlots.set(index, null);
             }
+            return;
+        }
 
-            if (!file.exists() && !file.createNewFile()) {
-                logger.warning("[SRP] Failed to create file for leaderboard: " + file.getAbsolutePath());
-                return false;
+        // Update the existing stands in place, if they are all still there
+        if (slot != null && slot.baseLoc.equals(baseLoc)) {
+            baseLoc.getChunk(); // Loads the stands along with the chunk
+            ArmorStand headStand = findStand(slot.headStand);
+            ArmorStand nameStand = findStand(slot.nameStand);
+            ArmorStand timeStand = findStand(slot.timeStand);
+            if (headStand != null && nameStand != null && timeStand != null) {
+                if (!slot.run.playerUUID.equals(run.playerUUID)) {
+                    EntityEquipment equipment = headStand.getEquipment();
+                    if (equipment != null) equipment.setHelmet(headCache.getHead(run.playerUUID, run.playerName));
+                }
+                if (!slot.run.playerName.equals(run.playerName)) {
+                    nameStand.setCustomName(run.playerName);
+                }
+                if (slot.run.time != run.time) {
+                    timeStand.setCustomName(formatTime(run.time));
+                }
+                slot.run = run;
+                return;
             }
+        }
 
-            return true;
-        } catch (IOException e) {
-            logger.warning("[SRP] IOException while creating file: " + e.getMessage());
-            return false;
+        // Otherwise, replace whatever is left of the slot with new stands
+        if (slot != null) removePodiumSlot(slot);
+        while (podiumSlots.size() <= index) {
+            podiumSlots.add(null);
         }
+        podiumSlots.set(index, createPodiumEntry(run, baseLoc, world));
+    }
+
+    private void removePodiumSlot(PodiumSlot slot) {
+        if (slot == null) return;
+
+        slot.baseLoc.getChunk(); // Loads the stands along with the chunk
+        removeIfExists(findStand(slot.headStand));
+        removeIfExists(findStand(slot.nameStand));
+        removeIfExists(findStand(slot.timeStand));
+    }
+
+    private void applyHead(UUID player, ItemStack head) {
+        // Swap the placeholder for the looked up head, wherever the player is shown
+        for (PodiumSlot slot : podiumSlots) {
+            if (slot == null || !slot.run.playerUUID.equals(player)) continue;
+
+            ArmorStand headStand = findStand(slot.headStand);
+            EntityEquipment equipment = headStand != null ? headStand.getEquipment() : null;
+            if (equipment != null) equipment.setHelmet(head.clone());
+        }
+    }
+
+    private ArmorStand findStand(UUID uuid) {
+        Entity entity = Bukkit.getEntity(uuid);
+        return entity instanceof ArmorStand && !entity.isDead() ? (ArmorStand) entity : null;
     }
 
     private void clearPodium() {
@@ -233,34 +294,23 @@ public class LeaderboardManager {
         }
     }
 
-    private void createPodiumEntry(RunEntry run, Location baseLoc, World world) {
+    private PodiumSlot createPodiumEntry(RunEntry run, Location baseLoc, World world) {
         Location headLoc = baseLoc.clone().add(0, 0.5, 0);
         Location nameLoc = headLoc.clone().add(0, 2, 0);
         Location timeLoc = headLoc.clone().add(0, 0.85, 0);
 
-        ItemStack headItem = createHeadItem(run.playerUUID);
-
-        createHeadStand(world, headLoc, headItem);
-        createNameStand(world, nameLoc, run.playerName);
-        createTimeStand(world, timeLoc, run.time);
-    }
-
-    private ItemStack createHeadItem(UUID uuid) {
-        ItemStack head = new ItemStack(Material.PLAYER_HEAD);
-        SkullMeta meta = (SkullMeta) head.getItemMeta();
+        ItemStack headItem = headCache.getHead(run.playerUUID, run.playerName);
 
-        OfflinePlayer player = Bukkit.getOfflinePlayer(uuid);
-        if (player.hasPlayedBefore() || player.isOnline()) {
-            meta.setOwningPlayer(player);
-        } else {
-            meta.setOwningPlayer(null);
-        }
-
-        head.setItemMeta(meta);
-        return head;
+        return new PodiumSlot(
+                baseLoc.clone(),
+                createHeadStand(world, headLoc, headItem).getUniqueId(),
+                createNameStand(world, nameLoc, run.playerName).getUniqueId(),
+                createTimeStand(world, timeLoc, run.time).getUniqueId(),
+                run
+        );
     }
 
-    private void createHeadStand(World world, Location loc, ItemStack head) {
+    private ArmorStand createHeadStand(World world, Location loc, ItemStack head) {
         ArmorStand stand = spawnBaseStand(world, loc);
         stand.setRotation(180f, 0f);
 
@@ -270,23 +320,28 @@ public class LeaderboardManager {
         }
 
         stand.addScoreboardTag(PODIUM_TAG);
+        return stand;
     }
 
-    private void createNameStand(World world, Location loc, String name) {
+    private ArmorStand createNameStand(World world, Location loc, String name) {
         ArmorStand stand = spawnBaseStand(world, loc);
         stand.setCustomName(name);
         stand.setCustomNameVisible(true);
         stand.addScoreboardTag(PODIUM_TAG);
         stand.setRotation(180f, 0f);
+        return stand;
     }
 
-    private void createTimeStand(World world, Location loc, long milliseconds) {
+    private ArmorStand createTimeStand(World world, Location loc, long milliseconds) {
         ArmorStand stand = spawnBaseStand(world, loc);
-        stand.setCustomName(
-                new TimeFormatter(milliseconds).withHours().withSuffixes().format()
-        );
+        stand.setCustomName(formatTime(milliseconds));
         stand.setCustomNameVisible(true);
         stand.addScoreboardTag(PODIUM_TAG);
+        return stand;
+    }
+
+    private String formatTime(long milliseconds) {
+        return new TimeFormatter(milliseconds).withHours().withSuffixes().format();
     }
 
     private ArmorStand spawnBaseStand(World world, Location loc) {
@@ -297,4 +352,16 @@ public class LeaderboardManager {
         armorStand.setInvulnerable(true);
         return armorStand;
     }
+
+    /**
+     * The armor stands spawned for a podium position, and the run they show.
+     */
+    @AllArgsConstructor
+    private static final class PodiumSlot {
+        private final Location baseLoc;
+        private final UUID headStand;
+        private final UUID nameStand;
+        private final UUID timeStand;
+        private RunEntry run;
+    }
 }
@@ -0,0 +1,174 @@
+package com.fx.srp.managers.util;
+
+import com.fx.srp.managers.util.LeaderboardManager.RunEntry;
+import com.fx.srp.util.collection.RankedSet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * The ranking of finished runs: the fastest runs on the board, and the personal best of every player.
+ *
+ * <p>The board holds at most a fixed number of runs in a sorted tree, such that inserting a run takes logarithmic
+ * time, and a run slower than the slowest run on a full board is rejected after a single comparison. Personal bests
+ * are indexed by player and by name, and sorted in a {@link RankedSet}, such that the rank of a player among all
+ * players is looked up in logarithmic time. In one-entry-per-player mode, only personal bests make it onto the
+ * board, replacing the previous personal best of the player.</p>
+ *
+ * <p>Runs are ordered by time, ties broken by the moment they finished. The ranking is not thread-safe.</p>
+ */
+public class LeaderboardRanking {
+
+    private static final Comparator<RunEntry> ORDER = Comparator.<RunEntry>comparingLong(entry -> entry.time)
+            .thenComparingLong(entry -> entry.finishedAt)
+            .thenComparing(entry -> entry.playerUUID);
+
+    private final int capacity;
+    private final boolean onePerPlayer;
+
+    private final NavigableSet<RunEntry> board = new TreeSet<>(ORDER);
+    private final Map<UUID, RunEntry> personalBests = new HashMap<>();
+    private final RankedSet<RunEntry> personalBestOrder = new RankedSet<>(ORDER);
+
+    // Lower-case player name -> player, by the name of their personal best
+    private final Map<String, UUID> playersByName = new HashMap<>();
+
+    /**
+     * Constructs an empty ranking.
+     *
+     * @param capacity     the maximum number of runs on the board
+     * @param onePerPlayer whether each player can hold at most one place on the board
+     */
+    public LeaderboardRanking(int capacity, boolean onePerPlayer) {
+        this.capacity = Math.max(0, capacity);
+        this.onePerPlayer = onePerPlayer;
+    }
+
+    /**
+     * Adds a finished run.
+     *
+     * @param entry the run
+     * @return {@code true} if the board changed
+     */
+    public boolean add(RunEntry entry) {
+        RunEntry previousBest = personalBests.get(entry.playerUUID);
+        boolean isPersonalBest = previousBest == null || ORDER.compare(entry, previousBest) < 0;
+        if (isPersonalBest) {
+            if (previousBest != null) {
+                personalBestOrder.remove(previousBest);
+                playersByName.remove(nameKey(previousBest.playerName), previousBest.playerUUID);
+            }
+            personalBests.put(entry.playerUUID, entry);
+            personalBestOrder.add(entry);
+            playersByName.put(nameKey(entry.playerName), entry.playerUUID);
+        }
+
+        if (!onePerPlayer) return offer(entry);
+        if (!isPersonalBest) return false;
+
+        // The new personal best takes over the place of the previous one, if that was on the board
+        boolean removed = previousBest != null && board.remove(previousBest);
+        return offer(entry) || removed;
+    }
+
+    /**
+     * Returns the runs on the board, fastest first.
+     *
+     * @return an unmodifiable view of the board
+     */
+    public NavigableSet<RunEntry> getBoard() {
+        return Collections.unmodifiableNavigableSet(board);
+    }
+
+    /**
+     * Returns the personal best of a player.
+     *
+     * @param player the UUID of the player
+     * @return the fastest run of the player, or {@code null} if the player has not finished a run
+     */
+    public RunEntry getPersonalBest(UUID player) {
+        return personalBests.get(player);
+    }
+
+    /**
+     * Finds the personal best of a player by name, ignoring case.
+     *
+     * @param playerName the name of the player, as of their personal best
+     * @return the fastest run of the player, or {@code null} if no such player has finished a run
+     */
+    public RunEntry findPersonalBest(String playerName) {
+        UUID player = playersByName.get(nameKey(playerName));
+        return player == null ? null : personalBests.get(player);
+    }
+
+    /**
+     * Returns the rank of a player among all players, by personal best.
+     *
+     * @param player the UUID of the player
+     * @return the rank, starting at {@code 1}, or {@code 0} if the player has not finished a run
+     */
+    public int getRank(UUID player) {
+        RunEntry best = personalBests.get(player);
+        return best == null ? 0 : personalBestOrder.rank(best) + 1;
+    }
+
+    /**
+     * Returns the place of a run on the board, in time linear in the place, as the board is small.
+     *
+     * @param entry the run
+     * @return the place, starting at {@code 1}, or {@code 0} if the run is not on the board
+     */
+    public int getPlace(RunEntry entry) {
+        return board.contains(entry) ? board.headSet(entry, false).size() + 1 : 0;
+    }
+
+    /**
+     * Returns the number of players that have finished a run.
+     *
+     * @return the number of players
+     */
+    public int getPlayerCount() {
+        return personalBests.size();
+    }
+
+    /**
+     * Returns the runs needed to restore the ranking: the runs on the board, and the personal best of every player.
+     *
+     * @return the runs, fastest first
+     */
+    public List<RunEntry> snapshot() {
+        Set<RunEntry> entries = new LinkedHashSet<>(board);
+        personalBestOrder.forEach(entries::add);
+        List<RunEntry> snapshot = new ArrayList<>(entries);
+        snapshot.sort(ORDER);
+        return snapshot;
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private static String nameKey(String playerName) {
+        return playerName.toLowerCase(Locale.ROOT);
+    }
+
+    private boolean offer(RunEntry entry) {
+        if (capacity == 0) return false;
+
+        // Reject runs slower than the slowest run on a full board at once
+        if (board.size() >= capacity && ORDER.compare(entry, board.last()) >= 0) return false;
+
+        board.add(entry);
+        if (board.size() > capacity) board.pollLast();
+        return true;
+    }
+}
@@ -0,0 +1,301 @@
+package com.fx.srp.managers.util;
+
+import com.fx.srp.SpeedRunPlus;
+import com.fx.srp.config.ConfigHandler;
+import com.fx.srp.model.seed.SeedCategory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.bukkit.Bukkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * An embedded stand-in for the FSG seeds API, built on the JDK's {@link HttpServer}.
+ *
+ * <p>The server listens on the loopback address, answering {@code GET /getRandomUsedSeed/<fsg name>} with a random
+ * seed of that type, in the JSON shape of the real API. With an {@code amount} query parameter, the response is a
+ * batch of that many seeds, as {@code {"seeds":[...]}}. Seeds are drawn from the pools in the plugin's
+ * {@code /local-seeds} folder, one {@code <TYPE>.csv} file per seed type. Types without a pool are answered with a
+ * not found error rather than random seeds, as fetched seeds end up in the plugin's seed files, which must only hold
+ * filtered seeds. This allows the plugin to fetch seeds without internet access.</p>
+ *
+ * <p>Every response is delayed by the configured latency, and a configured fraction of the requests is answered
+ * with a server error, a rate limit or a malformed body, such that the throughput and failure handling of the
+ * {@link SeedFetcher} can be measured. The random choices of a response come from a generator seeded with the
+ * configured seed and the request number and attempt the fetcher sends along in the {@link #REQUEST_HEADER} and
+ * {@link #ATTEMPT_HEADER} headers, such that every request plays out the same way every time, no matter in which
+ * order concurrent requests arrive. Requests without these headers draw from a single shared generator instead, in
+ * the order they arrive, which is only reproducible with a single request in flight at a time.</p>
+ */
+public class LocalSeedServer {
+
+    private final Logger logger = Bukkit.getLogger();
+    private final ConfigHandler configHandler = ConfigHandler.getInstance();
+
+    private static final String CONTEXT = "/getRandomUsedSeed/";
+    private static final String POOL_FOLDER = "local-seeds";
+    private static final String POOL_FILE_EXTENSION = ".csv";
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    /**
+     * The header holding the number of a request, counted by the client.
+     */
+    public static final String REQUEST_HEADER = "X-SRP-Request";
+
+    /**
+     * The header holding the attempt of a request, {@code 0} for the first attempt.
+     */
+    public static final String ATTEMPT_HEADER = "X-SRP-Attempt";
+
+    private final File poolFolder;
+    private final Map<String, long[]> pools = new ConcurrentHashMap<>();
+    private Random random;
+    private HttpServer server;
+    private ScheduledExecutorService executor;
+
+    // Counters of the responses, since the server was started
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong malformed = new AtomicLong();
+
+    /**
+     * Constructs a local seed server, which is not started yet.
+     *
+     * @param plugin the main plugin instance, used to locate the plugin data folder
+     */
+    public LocalSeedServer(SpeedRunPlus plugin) {
+        this.poolFolder = new File(plugin.getDataFolder(), POOL_FOLDER);
+    }
+
+    /**
+     * Loads the seed pools and starts listening on the configured port.
+     */
+    public void start() {
+        if (server != null) return;
+
+        loadPools();
+        random = new Random(configHandler.getLocalSeedServerRandomSeed());
+        Stream.of(requests, served, errors, rateLimited, malformed).forEach(counter -> counter.set(0));
+
+        executor = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "SRP-Local-Seed-Server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            InetSocketAddress address = new InetSocketAddress(
+                    InetAddress.getLoopbackAddress(),
+                    configHandler.getLocalSeedServerPort()
+            );
+            server = HttpServer.create(address, 0);
+        } catch (IOException e) {
+            logger.warning("[SRP] Failed to start the local seed server: " + e.getMessage());
+            executor.shutdownNow();
+            return;
+        }
+        server.createContext(CONTEXT, this::handle);
+        server.setExecutor(executor);
+        server.start();
+        logger.info("[SRP] Local seed server listening on " + configHandler.getFilteredSeedsApi());
+    }
+
+    /**
+     * Stops the server, logging the number of responses per outcome.
+     */
+    public void stop() {
+        if (server == null) return;
+
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        getReport().forEach(line -> logger.info("[SRP] Local seed server: " + line));
+    }
+
+    /**
+     * Checks whether the server is listening.
+     *
+     * @return {@code true} if the server has been started, and not stopped since
+     */
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Returns the number of responses per outcome since the server was started.
+     *
+     * @return the report lines
+     */
+    public List<String> getReport() {
+        return List.of(
+                "Requests: " + requests.get(),
+                "Seeds served: " + served.get(),
+                "Server errors: " + errors.get(),
+                "Rate limits: " + rateLimited.get(),
+                "Malformed bodies: " + malformed.get()
+        );
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private void handle(HttpExchange exchange) {
+        requests.incrementAndGet();
+        String fsgName = exchange.getRequestURI().getPath().substring(CONTEXT.length());
+        int amount = parseAmount(exchange.getRequestURI().getQuery());
+
+        // Draw the outcome and the delay of the response up front, by request number or else in arrival order
+        Random random = requestRandom(exchange);
+        int status;
+        String body;
+        long delay;
+        synchronized (this) {
+            delay = configHandler.getLocalSeedServerLatency() + (configHandler.getLocalSeedServerLatencyJitter() > 0
+                    ? (long) (random.nextDouble() * (configHandler.getLocalSeedServerLatencyJitter() + 1))
+                    : 0L);
+
+            double roll = random.nextDouble();
+            double errorRate = configHandler.getLocalSeedServerErrorRate();
+            double rateLimitRate = configHandler.getLocalSeedServerRateLimitRate();
+            double malformedRate = configHandler.getLocalSeedServerMalformedRate();
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                status = 405;
+                body = "{\"error\":\"method not allowed\"}";
+            } else if (!pools.containsKey(fsgName)) {
+                status = 404;
+                body = "{\"error\":\"no seed pool for this seed type\"}";
+            } else if (roll < errorRate) {
+                errors.incrementAndGet();
+                status = 503;
+                body = "{\"error\":\"injected server error\"}";
+            } else if (roll < errorRate + rateLimitRate) {
+                rateLimited.incrementAndGet();
+                status = 429;
+                body = "{\"error\":\"injected rate limit\"}";
+            } else if (roll < errorRate + rateLimitRate + malformedRate) {
+                malformed.incrementAndGet();
+                status = 200;
+                body = "{\"seed\":";
+            } else if (amount == 0) {
+                served.incrementAndGet();
+                status = 200;
+                body = seedJson(drawSeed(random, pools.get(fsgName)), fsgName);
+            } else {
+                served.addAndGet(amount);
+                status = 200;
+                StringBuilder batch = new StringBuilder("{\"seeds\":[");
+                for (int i = 0; i < amount; i++) {
+                    if (i > 0) batch.append(',');
+                    batch.append(seedJson(drawSeed(random, pools.get(fsgName)), fsgName));
+                }
+                body = batch.append("]}").toString();
+            }
+        }
+
+        // Respond later, without holding on to a server thread in the meantime
+        executor.schedule(() -> respond(exchange, status, body), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private Random requestRandom(HttpExchange exchange) {
+        String request = exchange.getRequestHeaders().getFirst(REQUEST_HEADER);
+        String attempt = exchange.getRequestHeaders().getFirst(ATTEMPT_HEADER);
+        if (request == null) return random;
+
+        try {
+            long seed = mix(configHandler.getLocalSeedServerRandomSeed() + Long.parseLong(request));
+            if (attempt != null) seed = mix(seed + Long.parseLong(attempt));
+            return new Random(seed);
+        } catch (NumberFormatException e) {
+            return random;
+        }
+    }
+
+    // SplitMix64 finalizer, such that neighbouring request numbers yield unrelated generators
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int parseAmount(String query) {
+        if (query == null) return 0;
+        for (String parameter : query.split("&")) {
+            if (!parameter.startsWith("amount=")) continue;
+            try {
+                return Math.max(1, Math.min(MAX_BATCH_SIZE, Integer.parseInt(parameter.substring(7))));
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    private static String seedJson(long seed, String fsgName) {
+        return "{\"seed\":\"" + seed + "\",\"seedType\":\"" + fsgName + "\"}";
+    }
+
+    private static long drawSeed(Random random, long[] pool) {
+        return pool[random.nextInt(pool.length)];
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        try (OutputStream output = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            output.write(bytes);
+        } catch (IOException e) {
+            // The client gave up on the request
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void loadPools() {
+        pools.clear();
+        Arrays.stream(SeedCategory.SeedType.values())
+                .filter(seedType -> seedType.getFsgName() != null)
+                .forEach(seedType -> {
+                    // Types without seeds are not served at all
+                    long[] pool = loadPool(seedType);
+                    if (pool.length > 0) pools.put(seedType.getFsgName(), pool);
+                });
+    }
+
+    private long[] loadPool(SeedCategory.SeedType seedType) {
+        File poolFile = new File(poolFolder, seedType.name() + POOL_FILE_EXTENSION);
+        if (!poolFile.exists()) return new long[0];
+
+        try (Stream<String> lines = Files.lines(poolFile.toPath())) {
+            long[] pool = lines.map(String::trim)
+                    .filter(line -> line.matches("-?\\d+"))
+                    .mapToLong(Long::parseLong)
+                    .toArray();
+            logger.info("[SRP] Local seed server loaded " + pool.length + " " + seedType.name() + " seeds");
+            return pool;
+        } catch (IOException | UncheckedIOException | NumberFormatException e) {
+            logger.warning("[SRP] Failed to read local seed pool " + poolFile.getName() + ", not serving its type");
+            return new long[0];
+        }
+    }
+}
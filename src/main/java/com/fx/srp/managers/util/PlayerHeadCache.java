@@ -0,0 +1,184 @@
+package com.fx.srp.managers.util;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+import com.fx.srp.SpeedRunPlus;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.SkullMeta;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.logging.Logger;
+
+/**
+ * Caches player head items with their skins, keyed by the UUID of the player.
+ *
+ * <p>Heads of online players are built from their profile at once. For other players, the profile is completed on
+ * an asynchronous task, as this may require a lookup at the Mojang session servers; in the meantime, a plain
+ * placeholder head is returned. Once the profile is complete, the head is cached and handed to the listener on the
+ * main thread, such that it can be swapped in.</p>
+ *
+ * <p>The cache holds a bounded number of heads, evicting the least recently used first. Failed lookups are
+ * remembered for a few minutes, such that a failing lookup is not repeated on every podium update. Players that
+ * were handed a placeholder are remembered as well: once such a player is online, their head is built from their
+ * own profile and handed to the listener, even if their lookup failed. The cache is used from the main thread
+ * only.</p>
+ */
+public class PlayerHeadCache implements Listener {
+
+    private final Logger logger = Bukkit.getLogger();
+    private final SpeedRunPlus plugin;
+
+    private static final int MAX_HEADS = 64;
+    private static final long FAILED_LOOKUP_RETRY_MILLIS = 5 * 60 * 1000L;
+
+    // Player -> head, in least- to most recently used order
+    private final Map<UUID, ItemStack> heads = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, ItemStack> eldest) {
+            return size() > MAX_HEADS;
+        }
+    };
+    private final Set<UUID> lookupsInProgress = new HashSet<>();
+
+    // Player -> moment from which a failed lookup may be retried, bounded like the heads
+    private final Map<UUID, Long> failedLookups = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Long> eldest) {
+            return size() > MAX_HEADS;
+        }
+    };
+
+    // Players handed a placeholder head since their head was last resolved, bounded like the heads
+    private final Set<UUID> placeholders = Collections.newSetFromMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+            return size() > MAX_HEADS;
+        }
+    });
+    private final BiConsumer<UUID, ItemStack> onResolved;
+
+    /**
+     * Constructs an empty head cache.
+     *
+     * @param plugin     the main plugin instance, used for scheduling
+     * @param onResolved called on the main thread with the player and a copy of the head, once a looked up head is
+     *                   ready
+     */
+    public PlayerHeadCache(SpeedRunPlus plugin, BiConsumer<UUID, ItemStack> onResolved) {
+        this.plugin = plugin;
+        this.onResolved = onResolved;
+    }
+
+    /**
+     * Starts resolving the heads of joining players that were handed a placeholder.
+     */
+    public void start() {
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Stops resolving the heads of joining players.
+     */
+    public void stop() {
+        HandlerList.unregisterAll(this);
+    }
+
+    /**
+     * Resolves the head of a joining player that was handed a placeholder, from the profile of the player.
+     *
+     * @param event the join event
+     */
+    @EventHandler
+    public void onJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        if (placeholders.contains(player.getUniqueId())) resolveOnline(player);
+    }
+
+    /**
+     * Returns the head of a player, starting a lookup of the profile if the head is not cached.
+     *
+     * @param uuid the UUID of the player
+     * @param name the last known name of the player, used for the lookup
+     * @return a copy of the cached head, or a placeholder head while the profile is looked up
+     */
+    public ItemStack getHead(UUID uuid, String name) {
+        ItemStack head = heads.get(uuid);
+        if (head != null) return head.clone();
+
+        // Online players have a complete profile, even if looking it up failed before
+        Player player = Bukkit.getPlayer(uuid);
+        if (player != null) return resolveOnline(player).clone();
+
+        Long retryAt = failedLookups.get(uuid);
+        boolean retry = retryAt == null || retryAt <= System.currentTimeMillis();
+        if (retry && lookupsInProgress.add(uuid)) lookup(uuid, name);
+        placeholders.add(uuid);
+        return new ItemStack(Material.PLAYER_HEAD);
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private ItemStack resolveOnline(Player player) {
+        UUID uuid = player.getUniqueId();
+        ItemStack head = createHead(player.getPlayerProfile());
+        heads.put(uuid, head);
+        failedLookups.remove(uuid);
+
+        // Swap out the placeholders handed out before
+        if (placeholders.remove(uuid)) onResolved.accept(uuid, head.clone());
+        return head;
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void lookup(UUID uuid, String name) {
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            PlayerProfile profile = Bukkit.createProfile(uuid, name);
+            boolean complete;
+            try {
+                complete = profile.complete(true);
+            } catch (RuntimeException e) {
+                complete = false;
+            }
+            if (!complete) logger.info("[SRP] Could not look up the skin of " + name + ", using a plain head");
+
+            if (!plugin.isEnabled()) return;
+
+            // Items are built on the main thread, like any other use of the cache
+            boolean resolved = complete;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                lookupsInProgress.remove(uuid);
+                if (!resolved) {
+                    failedLookups.put(uuid, System.currentTimeMillis() + FAILED_LOOKUP_RETRY_MILLIS);
+                    return;
+                }
+
+                failedLookups.remove(uuid);
+                placeholders.remove(uuid);
+                ItemStack head = createHead(profile);
+                heads.put(uuid, head);
+                onResolved.accept(uuid, head.clone());
+            });
+        });
+    }
+
+    private ItemStack createHead(PlayerProfile profile) {
+        ItemStack head = new ItemStack(Material.PLAYER_HEAD);
+        SkullMeta meta = (SkullMeta) head.getItemMeta();
+        meta.setPlayerProfile(profile);
+        head.setItemMeta(meta);
+        return head;
+    }
+}
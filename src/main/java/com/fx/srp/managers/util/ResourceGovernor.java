@@ -0,0 +1,320 @@
+package com.fx.srp.managers.util;
+
+import com.fx.srp.SpeedRunPlus;
+import com.fx.srp.config.ConfigHandler;
+import com.fx.srp.managers.ActiveRunRegistry;
+import com.fx.srp.model.player.Speedrunner;
+import com.fx.srp.model.run.Speedrun;
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Governs the admission of new speedruns based on the resources used by the active world sets.
+ *
+ * <p>A repeating task samples the loaded chunk count (on the main thread) and the on-disk size (walked
+ * asynchronously) of the world set of every active run. New runs are admitted while the number of players in
+ * runs, the total disk usage and the total number of loaded chunks stay within their configured budgets, counting
+ * the estimated usage of the new run: one world set per player, using as much as the average sampled world set.
+ * Otherwise they are queued, first come first served, and admitted once resources are freed. Runs admitted
+ * together count towards the totals of the runs admitted after them, as their worlds are not sampled yet. Queued
+ * players are told their position in the queue.</p>
+ *
+ * <p>All methods must be called from the main server thread.</p>
+ */
+public class ResourceGovernor {
+
+    private final ConfigHandler configHandler = ConfigHandler.getInstance();
+    private final ActiveRunRegistry runRegistry = ActiveRunRegistry.getINSTANCE();
+    private final SpeedRunPlus plugin;
+
+    // Estimated usage of a world set, until world sets have been sampled: its spawn area on disk and loaded
+    private static final long DEFAULT_DISK_BYTES_PER_WORLD_SET = 32L * 1024 * 1024;
+    private static final int DEFAULT_CHUNKS_PER_WORLD_SET = 600;
+
+    /**
+     * The resources used by a single world set.
+     */
+    @Getter
+    public static class Usage {
+        private volatile long diskBytes;
+        private volatile int loadedChunks;
+    }
+
+    private static final class Admission {
+        private final List<UUID> players;
+        private final Runnable start;
+
+        private Admission(List<UUID> players, Runnable start) {
+            this.players = players;
+            this.start = start;
+        }
+    }
+
+    private final Map<WorldManager.WorldSet, Usage> usages = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final LinkedList<Admission> queue = new LinkedList<>();
+    private BukkitTask sampleTask;
+    private boolean sampling;
+
+    /**
+     * Constructs the resource governor.
+     *
+     * @param plugin the main plugin instance, used for scheduling
+     */
+    public ResourceGovernor(SpeedRunPlus plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts sampling the resources of the active world sets.
+     */
+    public void start() {
+        if (sampleTask != null) return;
+
+        long interval = configHandler.getResourceSampleInterval();
+        sampleTask = Bukkit.getScheduler().runTaskTimer(plugin, this::sample, interval, interval);
+    }
+
+    /**
+     * Stops sampling and drops all queued admissions.
+     */
+    public void stop() {
+        if (sampleTask != null) sampleTask.cancel();
+        sampleTask = null;
+        queue.clear();
+    }
+
+    /**
+     * Starts a run for the given players right away if resources allow, or queues it until they do.
+     *
+     * @param players the players of the run
+     * @param start   starts the run, invoked on the main thread once admitted
+     */
+    public void admit(Collection<Player> players, Runnable start) {
+        // A player may only wait for one run at a time
+        Integer position = players.stream().map(this::getQueuePosition).filter(p -> p > 0).findFirst().orElse(null);
+        if (position != null) {
+            players.forEach(player -> player.sendMessage(
+                    ChatColor.YELLOW + "You are already queued for a speedrun, position: " + ChatColor.WHITE + position
+            ));
+            return;
+        }
+
+        if (queue.isEmpty() && hasCapacity(players.size())) {
+            start.run();
+            return;
+        }
+
+        queue.addLast(new Admission(players.stream().map(Player::getUniqueId).collect(Collectors.toList()), start));
+        players.forEach(player -> player.sendMessage(
+                ChatColor.YELLOW + "The server is at capacity, you are queued for a speedrun at position: "
+                        + ChatColor.WHITE + queue.size()
+        ));
+    }
+
+    /**
+     * Checks whether a run of the given number of players fits within the resource budgets.
+     *
+     * @param players the number of players of the new run
+     * @return {@code true} if the run can be started without exceeding any budget
+     */
+    public boolean hasCapacity(int players) {
+        return hasCapacity(players, getTotalDiskBytes(), getTotalLoadedChunks());
+    }
+
+    /**
+     * Returns the position of a player in the admission queue.
+     *
+     * @param player the player
+     * @return the 1-based queue position, or {@code 0} if the player is not queued
+     */
+    public int getQueuePosition(Player player) {
+        int position = 1;
+        for (Admission admission : queue) {
+            if (admission.players.contains(player.getUniqueId())) return position;
+            position++;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the number of runs waiting for admission.
+     *
+     * @return the queue length
+     */
+    public int getQueueLength() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the on-disk size of all active world sets, as of the last sample.
+     *
+     * @return the disk usage in bytes
+     */
+    public long getTotalDiskBytes() {
+        synchronized (usages) {
+            return usages.values().stream().mapToLong(Usage::getDiskBytes).sum();
+        }
+    }
+
+    /**
+     * Returns the number of loaded chunks in all active world sets, as of the last sample.
+     *
+     * @return the loaded chunk count
+     */
+    public int getTotalLoadedChunks() {
+        synchronized (usages) {
+            return usages.values().stream().mapToInt(Usage::getLoadedChunks).sum();
+        }
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private void sample() {
+        // World sets of the active runs, shared world sets (coop) are counted once
+        Set<WorldManager.WorldSet> worldSets = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Speedrun run : runRegistry.getAllRuns()) {
+            for (Speedrunner speedrunner : run.getSpeedrunners()) {
+                if (speedrunner.getWorldSet() != null) worldSets.add(speedrunner.getWorldSet());
+            }
+        }
+        usages.keySet().retainAll(worldSets);
+
+        // Loaded chunks are counted on the main thread, disk usage is walked asynchronously
+        Map<Usage, List<File>> folders = new IdentityHashMap<>();
+        for (WorldManager.WorldSet worldSet : worldSets) {
+            Usage usage = usages.computeIfAbsent(worldSet, key -> new Usage());
+            int loadedChunks = 0;
+            List<File> worldFolders = new ArrayList<>();
+            for (MultiverseWorld mvWorld : worldSet.getWorlds().values()) {
+                World world = mvWorld.getCBWorld();
+                if (world == null) continue;
+
+                loadedChunks += world.getChunkCount();
+                worldFolders.add(world.getWorldFolder());
+            }
+            usage.loadedChunks = loadedChunks;
+            folders.put(usage, worldFolders);
+        }
+
+        if (!sampling) {
+            sampling = true;
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                folders.forEach((usage, worldFolders) ->
+                        usage.diskBytes = worldFolders.stream().mapToLong(this::sizeOf).sum()
+                );
+                Bukkit.getScheduler().runTask(plugin, () -> sampling = false);
+            });
+        }
+
+        processQueue();
+    }
+
+    private boolean hasCapacity(int players, long diskBytes, long loadedChunks) {
+        int maxPlayers = configHandler.getMaxPlayers();
+        long maxDiskBytes = configHandler.getResourceMaxDiskBytes();
+        int maxLoadedChunks = configHandler.getResourceMaxLoadedChunks();
+
+        return (maxPlayers <= 0 || runRegistry.getAllPlayersInRuns().size() + players <= maxPlayers)
+                && (maxDiskBytes <= 0 || diskBytes + players * estimateDiskBytes() <= maxDiskBytes)
+                && (maxLoadedChunks <= 0 || loadedChunks + (long) players * estimateLoadedChunks() <= maxLoadedChunks);
+    }
+
+    private long estimateDiskBytes() {
+        synchronized (usages) {
+            return (long) usages.values().stream()
+                    .mapToLong(Usage::getDiskBytes)
+                    .filter(bytes -> bytes > 0)
+                    .average()
+                    .orElse(DEFAULT_DISK_BYTES_PER_WORLD_SET);
+        }
+    }
+
+    private int estimateLoadedChunks() {
+        synchronized (usages) {
+            return (int) usages.values().stream()
+                    .mapToInt(Usage::getLoadedChunks)
+                    .filter(chunks -> chunks > 0)
+                    .average()
+                    .orElse(DEFAULT_CHUNKS_PER_WORLD_SET);
+        }
+    }
+
+    private void processQueue() {
+        boolean admitted = false;
+
+        // Runs admitted in this pass are not sampled yet, their estimated usage is added up instead
+        long diskBytes = getTotalDiskBytes();
+        long loadedChunks = getTotalLoadedChunks();
+        long diskEstimate = estimateDiskBytes();
+        int chunkEstimate = estimateLoadedChunks();
+        Iterator<Admission> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Admission admission = iterator.next();
+
+            // Drop admissions of players who left, or started another run in the meantime
+            boolean valid = admission.players.stream().allMatch(uuid ->
+                    Bukkit.getPlayer(uuid) != null && !runRegistry.isPlayerInAnyRun(uuid)
+            );
+            if (!valid) {
+                iterator.remove();
+                continue;
+            }
+
+            // First come, first served
+            int players = admission.players.size();
+            if (!hasCapacity(players, diskBytes, loadedChunks)) break;
+
+            iterator.remove();
+            admission.start.run();
+            admitted = true;
+            diskBytes += players * diskEstimate;
+            loadedChunks += (long) players * chunkEstimate;
+        }
+
+        // Inform the remaining players of their new position
+        if (!admitted) return;
+        int position = 1;
+        for (Admission admission : queue) {
+            for (UUID uuid : admission.players) {
+                Player player = Bukkit.getPlayer(uuid);
+                if (player != null) {
+                    player.sendMessage(ChatColor.YELLOW + "Your position in the speedrun queue: "
+                            + ChatColor.WHITE + position);
+                }
+            }
+            position++;
+        }
+    }
+
+    private long sizeOf(File folder) {
+        try (Stream<Path> paths = Files.walk(folder.toPath().toRealPath())) {
+            return paths.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+        } catch (IOException | UncheckedIOException e) {
+            return 0L; // Deleted while walking
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.fx.srp.managers.util;
+
+import com.fx.srp.managers.util.LeaderboardManager.RunEntry;
+import lombok.AllArgsConstructor;
+import org.bukkit.Bukkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Persists finished runs as an append-only journal, next to a snapshot of the leaderboard.
+ *
+ * <p>Every finished run is appended to the {@code leaderboard.journal} file by a background writer thread. Runs
+ * finishing while a write is in progress are written together, with a single fsync for the whole batch. A batch
+ * that fails to be written is kept, and written again to the reopened journal after a growing delay. Closing the
+ * journal cuts such a delay short for a last attempt; runs that cannot be written then are logged as lost. The
+ * leaderboard is recovered at start-up from the snapshot, {@code leaderboard.yml}, plus the runs in the journal.</p>
+ *
+ * <p>To keep recovery short, the leaderboard is compacted periodically: a new snapshot is written atomically, after
+ * which the journal is moved into the {@code /leaderboard-archive} folder and a new journal is started. Archived
+ * journals are never read again, but keep every run ever finished. Recovery skips runs it has already seen, such
+ * that a compaction interrupted between the two steps does not count runs twice.</p>
+ *
+ * <p>Lines of both files hold the player name, player UUID, time and finishing timestamp of a run, separated by
+ * commas. Snapshot lines without a timestamp, written before the journal existed, are read as well.</p>
+ */
+public class RunJournal {
+
+    private final Logger logger = Bukkit.getLogger();
+
+    private static final String SNAPSHOT_FILE = "leaderboard.yml";
+    private static final String JOURNAL_FILE = "leaderboard.journal";
+    private static final String ARCHIVE_FOLDER = "leaderboard-archive";
+    private static final long CLOSE_TIMEOUT_SECONDS = 10L;
+    private static final long MIN_RETRY_DELAY_MILLIS = 1000L;
+    private static final long MAX_RETRY_DELAY_MILLIS = 60_000L;
+
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final Path archiveFolder;
+
+    // Commands for the writer thread, in order
+    private final BlockingQueue<Command> commands = new LinkedBlockingQueue<>();
+    private Thread writer;
+    private int journalEntries;
+
+    // Set once closing, cutting the delay before retrying a failed write short, guarded by retryLock
+    private final Object retryLock = new Object();
+    private volatile boolean closing;
+
+    /**
+     * Constructs a run journal, without starting the writer thread.
+     *
+     * @param dataFolder the plugin data folder holding the files
+     */
+    public RunJournal(File dataFolder) {
+        this.snapshotFile = dataFolder.toPath().resolve(SNAPSHOT_FILE);
+        this.journalFile = dataFolder.toPath().resolve(JOURNAL_FILE);
+        this.archiveFolder = dataFolder.toPath().resolve(ARCHIVE_FOLDER);
+    }
+
+    /**
+     * Reads the runs of the snapshot and the journal. Must be called before the writer thread is started.
+     *
+     * @return the recovered runs, unsorted and without duplicates
+     */
+    public List<RunEntry> recover() {
+        Set<String> seen = new HashSet<>();
+        List<RunEntry> entries = new ArrayList<>();
+        readEntries(snapshotFile).stream().filter(entry -> seen.add(key(entry))).forEach(entries::add);
+
+        List<RunEntry> journaled = readEntries(journalFile);
+        journalEntries = journaled.size();
+        journaled.stream().filter(entry -> seen.add(key(entry))).forEach(entries::add);
+        return entries;
+    }
+
+    /**
+     * Starts the writer thread.
+     */
+    public void start() {
+        if (writer != null) return;
+
+        closing = false;
+        writer = new Thread(this::write, "SRP-Leaderboard-Journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Appends a finished run to the journal, in the background.
+     *
+     * @param entry the run
+     */
+    public void append(RunEntry entry) {
+        journalEntries++;
+        commands.add(new Command(entry, null, false));
+    }
+
+    /**
+     * Returns the number of runs in the journal since the last compaction.
+     *
+     * @return the number of journaled runs
+     */
+    public int getJournalEntries() {
+        return journalEntries;
+    }
+
+    /**
+     * Compacts the journal into a new snapshot, in the background, after all runs appended before.
+     *
+     * @param snapshot the leaderboard including all appended runs, copied
+     */
+    public void compact(List<RunEntry> snapshot) {
+        journalEntries = 0;
+        commands.add(new Command(null, new ArrayList<>(snapshot), false));
+    }
+
+    /**
+     * Writes all pending runs, compacts the journal into the given snapshot, and stops the writer thread.
+     *
+     * <p>A writer waiting to retry a failed write retries at once, a single time.</p>
+     *
+     * @param snapshot the leaderboard including all appended runs
+     */
+    public void close(List<RunEntry> snapshot) {
+        if (writer == null) return;
+
+        compact(snapshot);
+        commands.add(new Command(null, null, true));
+        synchronized (retryLock) {
+            closing = true;
+            retryLock.notifyAll();
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            logger.severe("[SRP] The leaderboard journal did not finish writing within " + CLOSE_TIMEOUT_SECONDS
+                    + "s, the runs finished since its last write may not have been persisted!");
+        }
+        writer = null;
+    }
+
+    /* ==========================================================
+     *                      WRITER THREAD
+     * ========================================================== */
+    private void write() {
+        FileChannel journal = null;
+        long committed = -1L; // Length of the journal after the last complete write, -1 if not known
+        Deque<Command> pending = new ArrayDeque<>();
+        StringBuilder lines = new StringBuilder();
+        long retryDelay = MIN_RETRY_DELAY_MILLIS;
+        try {
+            while (true) {
+                // Take all commands queued up by now as one batch, following those of a failed batch
+                if (pending.isEmpty() && lines.length() == 0) pending.add(commands.take());
+
+                // Once closing, all commands are queued already, including the one to stop
+                boolean lastAttempt = closing;
+                commands.drainTo(pending);
+
+                try {
+                    if (journal == null) {
+                        journal = openJournal(committed);
+                        committed = journal.position();
+                    }
+                    while (!pending.isEmpty()) {
+                        Command command = pending.peekFirst();
+                        if (command.entry != null) {
+                            lines.append(format(command.entry)).append('\n');
+                            pending.removeFirst();
+                            continue;
+                        }
+
+                        // Runs before a compaction are journaled before the journal is archived
+                        committed = flush(journal, lines);
+                        if (command.stop) return;
+                        journal.close();
+                        journal = null;
+                        committed = -1L;
+                        writeSnapshot(command.snapshot);
+                        pending.removeFirst();
+                        journal = openJournal(committed);
+                        committed = journal.position();
+                    }
+                    committed = flush(journal, lines);
+                    retryDelay = MIN_RETRY_DELAY_MILLIS;
+                } catch (IOException e) {
+                    closeQuietly(journal);
+                    journal = null;
+                    if (lastAttempt) {
+                        logLostRuns(pending, lines, e);
+                        return;
+                    }
+
+                    // The unwritten runs are kept, and written again once the journal could be reopened
+                    logger.warning("[SRP] Failed to write the leaderboard journal, retrying in " + retryDelay
+                            + "ms: " + e.getMessage());
+                    awaitRetry(retryDelay);
+                    retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MILLIS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeQuietly(journal);
+        }
+    }
+
+    private void awaitRetry(long delay) throws InterruptedException {
+        synchronized (retryLock) {
+            if (!closing) retryLock.wait(delay);
+        }
+    }
+
+    private void logLostRuns(Deque<Command> pending, StringBuilder lines, IOException e) {
+        List<String> lost = new ArrayList<>();
+        if (lines.length() > 0) lost.addAll(List.of(lines.toString().split("\n")));
+        pending.stream().filter(command -> command.entry != null).map(command -> format(command.entry))
+                .forEach(lost::add);
+
+        boolean snapshotLost = pending.stream().anyMatch(command -> command.snapshot != null);
+
+        logger.severe("[SRP] Failed to write the leaderboard journal on shutdown, " + lost.size() + " finished run(s)"
+                + (snapshotLost ? " and the leaderboard snapshot" : "") + " were not persisted: " + e.getMessage());
+        lost.forEach(line -> logger.severe("[SRP] Run not persisted: " + line));
+    }
+
+    private FileChannel openJournal(long committed) throws IOException {
+        FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        // Drop what a failed write left behind, as those runs are written again
+        if (committed >= 0 && channel.size() > committed) channel.truncate(committed);
+        long size = channel.size();
+        channel.position(size);
+
+        // Terminate a torn last line, such that the next run does not end up on the same line
+        ByteBuffer last = ByteBuffer.allocate(1);
+        if (size > 0 && channel.read(last, size - 1) == 1 && last.get(0) != '\n') {
+            flush(channel, new StringBuilder("\n"));
+        }
+        return channel;
+    }
+
+    private long flush(FileChannel journal, StringBuilder lines) throws IOException {
+        if (lines.length() == 0) return journal.position();
+
+        ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            journal.write(bytes);
+        }
+        journal.force(false);
+        lines.setLength(0);
+        return journal.position();
+    }
+
+    private void writeSnapshot(List<RunEntry> snapshot) {
+        Path temporary = snapshotFile.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try {
+            List<String> lines = snapshot.stream().map(this::format).collect(Collectors.toList());
+            Files.write(temporary, lines, StandardCharsets.UTF_8);
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            // Only archive the journal once the snapshot holding its runs is in place
+            if (Files.size(journalFile) > 0) {
+                Files.createDirectories(archiveFolder);
+                Path archived = archiveFolder.resolve("runs-" + System.currentTimeMillis() + ".journal");
+                Files.move(journalFile, archived, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            // The journal is kept, and compacted again later
+            logger.warning("[SRP] Failed to compact the leaderboard journal: " + e.getMessage());
+        }
+    }
+
+    private void closeQuietly(FileChannel channel) {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Closing anyway
+        }
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private List<RunEntry> readEntries(Path file) {
+        if (!Files.exists(file)) return List.of();
+
+        List<RunEntry> entries = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                RunEntry entry = parse(line);
+                if (entry != null) entries.add(entry);
+            }
+        } catch (IOException e) {
+            logger.warning("[SRP] Error while trying to load " + file.getFileName() + ": " + e.getMessage());
+        }
+        return entries;
+    }
+
+    private RunEntry parse(String line) {
+        // A torn last line of the journal is skipped
+        String[] parts = line.split(",");
+        if (parts.length != 3 && parts.length != 4) return null;
+        try {
+            long finishedAt = parts.length == 4 ? Long.parseLong(parts[3]) : 0L;
+            return new RunEntry(parts[0], UUID.fromString(parts[1]), Long.parseLong(parts[2]), finishedAt);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private String format(RunEntry entry) {
+        return entry.playerName + "," + entry.playerUUID + "," + entry.time + "," + entry.finishedAt;
+    }
+
+    private String key(RunEntry entry) {
+        return entry.playerUUID + "," + entry.time + "," + entry.finishedAt;
+    }
+
+    /**
+     * A run to append, a snapshot to compact the journal into, or the request to stop.
+     */
+    @AllArgsConstructor
+    private static final class Command {
+        private final RunEntry entry;
+        private final List<RunEntry> snapshot;
+        private final boolean stop;
+    }
+}
@@ -0,0 +1,213 @@
+package com.fx.srp.managers.util;
+
+import com.fx.srp.config.ConfigHandler;
+import com.fx.srp.model.seed.FetchedSeed;
+import com.fx.srp.model.seed.SeedCategory;
+import com.fx.srp.util.json.SeedResponseParser;
+import lombok.AllArgsConstructor;
+import org.bukkit.Bukkit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Fetches filtered seeds from the configured seeds API, concurrently.
+ *
+ * <p>Every seed is a separate request, sent with {@link HttpClient#sendAsync}. At most the configured number of
+ * requests are in flight at once; further requests wait for a free slot. Requests failing with an I/O error, a
+ * rate limit or a server error are retried with exponential backoff, without holding on to their slot while
+ * backing off.</p>
+ *
+ * <p>The endpoint is the configured seeds API, followed by the FSG name of the seed type, such that a local
+ * stub server can stand in for the real API. Responses are parsed while they stream in, by the
+ * {@link SeedResponseParser}. With more than one seed per request configured, the number of seeds is passed as the
+ * {@code amount} query parameter, for batch endpoints returning many seeds per response. Seeds of another type than
+ * requested are dropped. Every request carries its number and attempt in headers, which the
+ * {@link LocalSeedServer} derives its injected outcomes from.</p>
+ */
+public class SeedFetcher {
+
+    private final Logger logger = Bukkit.getLogger();
+    private final ConfigHandler configHandler = ConfigHandler.getInstance();
+
+    private final HttpClient httpClient;
+
+    // The number of the next request, in the order requests are made
+    private final AtomicLong nextRequest = new AtomicLong();
+
+    // Requests waiting for a free slot, guarded by this
+    private final Queue<Supplier<CompletableFuture<?>>> waiting = new ArrayDeque<>();
+    private int inFlight;
+
+    /**
+     * Constructs a seed fetcher.
+     */
+    public SeedFetcher() {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(configHandler.getSeedFetchTimeout()))
+                .build();
+    }
+
+    /**
+     * Fetches a number of seeds of the given type.
+     *
+     * <p>The returned future completes on an HTTP client thread, once every request has either succeeded or
+     * exhausted its retries.</p>
+     *
+     * @param seedType the type of seeds to fetch
+     * @param amount   the number of seeds to fetch
+     * @return a future of the fetched seeds, which may be fewer than requested
+     */
+    public CompletableFuture<List<Long>> fetch(SeedCategory.SeedType seedType, int amount) {
+        if (amount < 1 || seedType.getFsgName() == null) return CompletableFuture.completedFuture(List.of());
+
+        URI uri;
+        try {
+            uri = new URI(configHandler.getFilteredSeedsApi().toString() + seedType.getFsgName());
+        } catch (URISyntaxException | NullPointerException e) {
+            logger.warning("[SRP] Invalid Filtered Seeds API URL, cannot fetch seeds!");
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        // Split the seeds over requests, the last one taking the remainder
+        int perRequest = configHandler.getSeedFetchSeedsPerRequest();
+        int requestCount = (amount + perRequest - 1) / perRequest;
+        List<CompletableFuture<List<Long>>> requests = IntStream.range(0, requestCount)
+                .mapToObj(i -> fetchBatch(uri, seedType.getFsgName(), Math.min(perRequest, amount - i * perRequest)))
+                .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new))
+                .thenApply(done -> requests.stream()
+                        .map(CompletableFuture::join)
+                        .flatMap(List::stream)
+                        .limit(amount)
+                        .collect(Collectors.toList()));
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private CompletableFuture<List<Long>> fetchBatch(URI uri, String fsgName, int amount) {
+        URI batchUri = amount > 1 ? uri.resolve(uri.getRawPath() + "?amount=" + amount) : uri;
+        CompletableFuture<List<Long>> result = new CompletableFuture<>();
+        attempt(batchUri, fsgName, nextRequest.getAndIncrement(), 0, result);
+        return result;
+    }
+
+    private void attempt(URI uri, String fsgName, long number, int attempt, CompletableFuture<List<Long>> result) {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(uri)
+                .timeout(Duration.ofSeconds(configHandler.getSeedFetchTimeout()))
+                .header("Accept", "application/json")
+                .header(LocalSeedServer.REQUEST_HEADER, Long.toString(number))
+                .header(LocalSeedServer.ATTEMPT_HEADER, Integer.toString(attempt))
+                .GET()
+                .build();
+
+        // Parse the body as it streams in, still holding on to the slot of the request
+        submit(() -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(response -> readResponse(response, fsgName))
+                .whenComplete((response, error) -> {
+                    // Retry I/O errors, rate limits and server errors
+                    boolean retryable = error != null
+                            || response.statusCode == 429
+                            || response.statusCode >= 500;
+                    if (retryable) {
+                        retry(uri, fsgName, number, attempt, result, error != null
+                                ? error.getMessage()
+                                : "HTTP " + response.statusCode);
+                        return;
+                    }
+
+                    if (response.statusCode / 100 != 2) {
+                        logger.warning("[SRP] Failed to fetch seed: HTTP " + response.statusCode);
+                        result.complete(List.of());
+                        return;
+                    }
+                    if (response.parseError != null) {
+                        logger.warning("[SRP] Failed to parse seed response: " + response.parseError);
+                    }
+                    result.complete(response.seeds);
+                }));
+    }
+
+    private FetchResponse readResponse(HttpResponse<InputStream> response, String fsgName) {
+        int statusCode = response.statusCode();
+        try (InputStream body = response.body()) {
+            if (statusCode / 100 != 2) return new FetchResponse(statusCode, List.of(), null);
+
+            List<Long> seeds = SeedResponseParser.parse(body).stream()
+                    .filter(seed -> seed.getSeedType() == null || seed.getSeedType().equalsIgnoreCase(fsgName))
+                    .map(FetchedSeed::getSeed)
+                    .collect(Collectors.toList());
+            return new FetchResponse(statusCode, seeds, null);
+        } catch (IOException e) {
+            return new FetchResponse(statusCode, List.of(), e.getMessage());
+        }
+    }
+
+    private void retry(
+            URI uri,
+            String fsgName,
+            long number,
+            int attempt,
+            CompletableFuture<List<Long>> result,
+            String reason
+    ) {
+        if (attempt >= configHandler.getSeedFetchMaxRetries()) {
+            logger.warning("[SRP] Failed to fetch seed after " + (attempt + 1) + " attempt(s): " + reason);
+            result.complete(List.of());
+            return;
+        }
+
+        // Exponential backoff with jitter, such that concurrent requests do not retry in lockstep
+        long baseDelay = configHandler.getSeedFetchRetryDelay();
+        long delay = (baseDelay << attempt) + ThreadLocalRandom.current().nextLong(baseDelay + 1);
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+                .execute(() -> attempt(uri, fsgName, number, attempt + 1, result));
+    }
+
+    private synchronized void submit(Supplier<CompletableFuture<?>> request) {
+        waiting.add(request);
+        dispatch();
+    }
+
+    private synchronized void dispatch() {
+        while (inFlight < configHandler.getSeedFetchParallelism() && !waiting.isEmpty()) {
+            inFlight++;
+            waiting.poll().get().whenComplete((response, error) -> complete());
+        }
+    }
+
+    private synchronized void complete() {
+        inFlight--;
+        dispatch();
+    }
+
+    /**
+     * The status code of a response, and the seeds parsed from its body.
+     */
+    @AllArgsConstructor
+    private static final class FetchResponse {
+        private final int statusCode;
+        private final List<Long> seeds;
+        private final String parseError;
+    }
+}
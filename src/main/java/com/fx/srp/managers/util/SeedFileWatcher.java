@@ -0,0 +1,114 @@
+package com.fx.srp.managers.util;
+
+import org.bukkit.Bukkit;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Watches the seeds folder for changed seed files, using a {@link WatchService}.
+ *
+ * <p>A daemon thread waits for file system events in the folder. Events arriving in quick succession, as editors
+ * tend to produce, are coalesced, after which the callback is invoked once per changed file, on the watcher
+ * thread.</p>
+ */
+public class SeedFileWatcher {
+
+    private final Logger logger = Bukkit.getLogger();
+
+    private static final long COALESCE_MILLIS = 250L;
+
+    private final Path folder;
+    private final Consumer<Path> onChange;
+    private WatchService watchService;
+
+    /**
+     * Constructs a seed file watcher.
+     *
+     * @param folder   the folder to watch
+     * @param onChange invoked on the watcher thread with the path of each created or modified file
+     */
+    public SeedFileWatcher(Path folder, Consumer<Path> onChange) {
+        this.folder = folder;
+        this.onChange = onChange;
+    }
+
+    /**
+     * Starts watching the folder.
+     */
+    public void start() {
+        if (watchService != null) return;
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            folder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            logger.warning("[SRP] Failed to watch the seeds folder, seed files are not reloaded: " + e.getMessage());
+            return;
+        }
+
+        Thread thread = new Thread(this::watch, "SRP-Seed-Watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching the folder.
+     */
+    public void stop() {
+        if (watchService == null) return;
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+            // Closing anyway
+        }
+        watchService = null;
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private void watch() {
+        WatchService service = watchService;
+        try {
+            while (true) {
+                WatchKey key = service.take();
+
+                // Coalesce the burst of events of a single save
+                Thread.sleep(COALESCE_MILLIS);
+                Set<Path> changed = new LinkedHashSet<>();
+                do {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) continue;
+                        changed.add(folder.resolve((Path) event.context()));
+                    }
+                    key.reset();
+                    key = service.poll();
+                } while (key != null);
+
+                changed.forEach(this::notifyChange);
+            }
+        } catch (ClosedWatchServiceException | InterruptedException ignored) {
+            // Stopped
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void notifyChange(Path file) {
+        try {
+            onChange.accept(file);
+        } catch (RuntimeException e) {
+            logger.warning("[SRP] Failed to reload seed file " + file.getFileName() + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.fx.srp.managers.util;
+
+import com.fx.srp.SpeedRunPlus;
+import com.fx.srp.config.ConfigHandler;
+import com.fx.srp.util.hash.BloomFilter;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Remembers the seeds each player has recently played, such that seed selection can avoid repeating them.
+ *
+ * <p>The history of a player is a pair of rotating {@link BloomFilter}s: seeds are added to the current filter
+ * until it holds the configured number of seeds, after which it becomes the previous filter and a new current
+ * filter is started. A seed counts as recently played if either filter contains it, so a player remembers between
+ * one and two times the configured number of seeds, in constant space. As with any Bloom filter, a small fraction
+ * of unplayed seeds is mistaken for played ones.</p>
+ *
+ * <p>Histories are kept in memory for online players only: they are loaded from the plugin's {@code /seed-history}
+ * folder asynchronously when a player joins, and dropped when the player quits. Until its history is loaded, a
+ * player counts as having played no seeds, and the seeds recorded in the meantime are added to the history once it
+ * is loaded. Histories are persisted asynchronously whenever they change: only the latest serialized history of a
+ * player is kept pending, and it is taken and written under a single lock, such that an older history never
+ * overwrites a newer one. All other methods must be called from the main server thread.</p>
+ */
+public class SeedHistory implements Listener {
+
+    private final Logger logger = Bukkit.getLogger();
+    private final ConfigHandler configHandler = ConfigHandler.getInstance();
+    private final SpeedRunPlus plugin;
+
+    private static final String HISTORY_FOLDER = "seed-history";
+    private static final String HISTORY_FILE_EXTENSION = ".bin";
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int FORMAT_VERSION = 1;
+
+    private final File historyFolder;
+    private final Map<UUID, PlayerHistory> histories = new HashMap<>();
+
+    // The latest serialized history of each player that has not been written yet
+    private final Map<UUID, byte[]> pendingWrites = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the seed history.
+     *
+     * @param plugin the main plugin instance, used to locate the plugin data folder and for scheduling
+     */
+    public SeedHistory(SpeedRunPlus plugin) {
+        this.plugin = plugin;
+        this.historyFolder = new File(plugin.getDataFolder(), HISTORY_FOLDER);
+    }
+
+    /**
+     * Starts loading the histories of joining players, and of the players already online.
+     */
+    public void start() {
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        if (configHandler.isSeedHistoryEnabled()) {
+            Bukkit.getOnlinePlayers().forEach(player -> getHistory(player.getUniqueId()));
+        }
+    }
+
+    /**
+     * Stops loading the histories of joining players, and writes the histories still pending.
+     */
+    public void stop() {
+        HandlerList.unregisterAll(this);
+        new ArrayList<>(pendingWrites.keySet()).forEach(this::writePending);
+    }
+
+    /**
+     * Starts loading the history of a joining player.
+     *
+     * @param event the join event
+     */
+    @EventHandler
+    public void onJoin(PlayerJoinEvent event) {
+        if (configHandler.isSeedHistoryEnabled()) getHistory(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Drops the history of a quitting player from memory, it has been persisted already.
+     *
+     * @param event the quit event
+     */
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        histories.remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Checks whether any of the given players has recently played a seed.
+     *
+     * @param players the UUIDs of the players
+     * @param seed    the seed
+     * @return {@code true} if the seed was (probably) played recently by any of the players
+     */
+    public boolean wasPlayed(Collection<UUID> players, long seed) {
+        if (!configHandler.isSeedHistoryEnabled()) return false;
+
+        for (UUID player : players) {
+            if (getHistory(player).contains(seed)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records that the given players play a seed.
+     *
+     * @param players the UUIDs of the players
+     * @param seed    the seed
+     */
+    public void record(Collection<UUID> players, long seed) {
+        if (!configHandler.isSeedHistoryEnabled()) return;
+
+        players.forEach(player -> {
+            PlayerHistory history = getHistory(player);
+            history.add(seed);
+
+            // Persisted together with the stored history, once loaded
+            if (history.recordedWhileLoading != null) history.recordedWhileLoading.add(seed);
+            else persist(player, history);
+        });
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private PlayerHistory getHistory(UUID player) {
+        return histories.computeIfAbsent(player, this::startLoading);
+    }
+
+    private PlayerHistory startLoading(UUID player) {
+        // Stands in for the stored history until it has been read off the main thread
+        PlayerHistory placeholder = new PlayerHistory(configHandler.getSeedHistorySize());
+        placeholder.recordedWhileLoading = new ArrayList<>();
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            PlayerHistory loaded = load(player);
+            if (!plugin.isEnabled()) return;
+            Bukkit.getScheduler().runTask(plugin, () -> finishLoading(player, placeholder, loaded));
+        });
+        return placeholder;
+    }
+
+    private void finishLoading(UUID player, PlayerHistory placeholder, PlayerHistory loaded) {
+        placeholder.recordedWhileLoading.forEach(loaded::add);
+        if (histories.get(player) == placeholder && Bukkit.getPlayer(player) != null) histories.put(player, loaded);
+        else histories.remove(player, placeholder); // Quit in the meantime
+
+        if (!placeholder.recordedWhileLoading.isEmpty()) persist(player, loaded);
+    }
+
+    private PlayerHistory load(UUID player) {
+        int size = configHandler.getSeedHistorySize();
+        Path file = historyFolder.toPath().resolve(player + HISTORY_FILE_EXTENSION);
+        if (!Files.exists(file)) return new PlayerHistory(size);
+
+        try (InputStream input = Files.newInputStream(file);
+             DataInputStream data = new DataInputStream(input)) {
+
+            // Histories of another size or format are discarded
+            if (data.readInt() != FORMAT_VERSION || data.readInt() != size) return new PlayerHistory(size);
+
+            BloomFilter current = readFilter(data, size);
+            BloomFilter previous = readFilter(data, size);
+            return new PlayerHistory(size, current, previous);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warning("[SRP] Failed to read the seed history of " + player + ": " + e.getMessage());
+            return new PlayerHistory(size);
+        }
+    }
+
+    private void persist(UUID player, PlayerHistory history) {
+        // Serialize the history on the main thread, write it off it
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream data = new DataOutputStream(bytes)) {
+            data.writeInt(FORMAT_VERSION);
+            data.writeInt(history.size);
+            writeFilter(data, history.current);
+            writeFilter(data, history.previous);
+        } catch (IOException e) {
+            return; // Not thrown by in-memory streams
+        }
+
+        // A write is already scheduled if an older history is pending, it writes this one instead
+        if (pendingWrites.put(player, bytes.toByteArray()) == null) {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> writePending(player));
+        }
+    }
+
+    private void writePending(UUID player) {
+        Path file = historyFolder.toPath().resolve(player + HISTORY_FILE_EXTENSION);
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+
+        // Taken under the lock, such that a write that started later never writes an older history
+        synchronized (historyFolder) {
+            byte[] bytes = pendingWrites.remove(player);
+            if (bytes == null) return;
+
+            try {
+                Files.createDirectories(historyFolder.toPath());
+                Files.write(temporary, bytes);
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                logger.warning("[SRP] Failed to persist the seed history of " + player + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private BloomFilter readFilter(DataInputStream data, int size) throws IOException {
+        int insertions = data.readInt();
+        long[] words = new long[data.readInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = data.readLong();
+        }
+        return new BloomFilter(size, FALSE_POSITIVE_RATE, words, insertions);
+    }
+
+    private void writeFilter(DataOutputStream data, BloomFilter filter) throws IOException {
+        long[] words = filter.getWords();
+        data.writeInt(filter.getInsertions());
+        data.writeInt(words.length);
+        for (long word : words) {
+            data.writeLong(word);
+        }
+    }
+
+    /**
+     * The recently played seeds of a single player, in two rotating generations.
+     */
+    private static final class PlayerHistory {
+        private final int size;
+        private BloomFilter current;
+        private BloomFilter previous;
+
+        // The seeds recorded while the stored history is being loaded, null once loaded
+        private List<Long> recordedWhileLoading;
+
+        private PlayerHistory(int size) {
+            this(size, new BloomFilter(size, FALSE_POSITIVE_RATE), new BloomFilter(size, FALSE_POSITIVE_RATE));
+        }
+
+        private PlayerHistory(int size, BloomFilter current, BloomFilter previous) {
+            this.size = size;
+            this.current = current;
+            this.previous = previous;
+        }
+
+        private boolean contains(long seed) {
+            return current.mightContain(seed) || previous.mightContain(seed);
+        }
+
+        private void add(long seed) {
+            // Rotate once the current generation is full, forgetting the oldest seeds
+            if (current.getInsertions() >= size) {
+                previous = current;
+                current = new BloomFilter(size, FALSE_POSITIVE_RATE);
+            }
+            current.add(seed);
+        }
+    }
+}
@@ -3,22 +3,30 @@ package com.fx.srp.managers.util;
 import com.fx.srp.SpeedRunPlus;
 import com.fx.srp.config.ConfigHandler;
 import com.fx.srp.model.seed.SeedCategory;
+import com.fx.srp.model.seed.SeedStore;
+import com.fx.srp.util.hash.LongHashSet;
+import com.fx.srp.util.sampling.AliasTable;
+import com.fx.srp.util.sampling.FenwickTree;
+import lombok.AllArgsConstructor;
 import org.bukkit.Bukkit;
-import org.bukkit.Color;
+import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 
 import java.io.*;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -30,9 +38,15 @@ import java.util.stream.Stream;
  * </p>
  * <ul>
  *     <li>Creating CSV files for each seed category if they do not exist</li>
- *     <li>Loading seeds from CSV files for each {@link SeedCategory.SeedType}</li>
- *     <li>Selecting a random seed based on category weights and available seeds</li>
- *     <li>Fetching and adding new seeds asynchronously from FSGs Practice seeds API</li>
+ *     <li>Loading seeds from CSV files for each {@link SeedCategory.SeedType}, via memory-mapped binary seed files
+ *     converted from them</li>
+ *     <li>Selecting a random seed based on category weights and available seeds, in constant time via an
+ *     {@link AliasTable}</li>
+ *     <li>Fetching and adding new seeds asynchronously from FSGs Practice seeds API, via the {@link SeedFetcher}, or
+ *     from the embedded {@link LocalSeedServer} standing in for it</li>
+ *     <li>Keeping per-category buffers of prefetched seeds, refilled below a low-water mark</li>
+ *     <li>Recording the outcome of runs per seed in {@link SeedStats}, and optionally weighting the seeds within a
+ *     category by these outcomes, via a {@link FenwickTree}</li>
  * </ul>
  *
  * <p>
@@ -47,13 +61,38 @@ public class SeedManager {
     private final SpeedRunPlus plugin;
 
     private static final String SEED_FILE_EXTENSION = ".csv";
+    private static final String BINARY_SEED_FILE_EXTENSION = ".bin";
+    private static final int MAX_SELECTION_ATTEMPTS = 16;
+    private static final int SEED_FILE_BOUNDARY_BYTES = 64;
 
     // Seeds
     private final Map<SeedCategory.SeedType, File> seedFiles = new ConcurrentHashMap<>();
     private final List<SeedCategory> seedCategories = new CopyOnWriteArrayList<>();
-    private int totalSeedWeight;
+    private volatile CategorySelection categorySelection;
+    private final SeedHistory seedHistory;
 
-    private final HttpClient httpClient = HttpClient.newHttpClient();
+    // Outcomes of runs per seed, and the per-category samplers weighting seeds by them, used on the main thread
+    private final SeedStats seedStats;
+    private final Map<SeedCategory.SeedType, SeedSampler> seedSamplers = new HashMap<>();
+    private final Map<SeedCategory.SeedType, SeedStore> samplersInProgress = new HashMap<>();
+
+    // The last seed drawn from a sampler, and where, kept unboxed until a run of the seed starts
+    private SeedSampler lastDrawnFrom;
+    private long lastDrawnSeed;
+    private int lastDrawnIndex;
+
+    // Fetching of new seeds, and per-category buffers of fetched seeds not yet added
+    private final SeedFetcher seedFetcher = new SeedFetcher();
+    private final LocalSeedServer localSeedServer;
+    private final Map<SeedCategory.SeedType, Deque<Long>> prefetchBuffers = new ConcurrentHashMap<>();
+    private final Set<SeedCategory.SeedType> refillingBuffers = ConcurrentHashMap.newKeySet();
+
+    // Seeds of each category, for deduplication, guarded by this
+    private final Map<SeedCategory.SeedType, LongHashSet> seedIndexes = new ConcurrentHashMap<>();
+
+    // Reloading of changed seed files, and the state of each seed file as last read, guarded by this
+    private final SeedFileWatcher seedFileWatcher;
+    private final Map<SeedCategory.SeedType, SeedFileMark> seedFileMarks = new ConcurrentHashMap<>();
 
     /**
      * Initializes the SeedManager, creates seed files if missing, and loads seeds for each category.
@@ -63,20 +102,47 @@ public class SeedManager {
      */
     public SeedManager(SpeedRunPlus plugin) {
         this.plugin = plugin;
+        this.seedHistory = new SeedHistory(plugin);
+        seedHistory.start();
+        this.seedStats = new SeedStats(plugin);
 
         createSeedFiles(plugin.getDataFolder());
 
         // Initialize seeds
         Arrays.stream(SeedCategory.SeedType.values()).forEach(seedType -> {
             int weight = configHandler.getSeedWeight(seedType);
-            List<Long> seeds = loadSeeds(seedType);
+            SeedStore seeds = loadSeeds(seedType);
+            seedIndexes.put(seedType, indexSeeds(seeds));
 
-            // Premature exit if the weight is non-positive or if no seeds are present
-            if (!seedType.equals(SeedCategory.SeedType.RANDOM) && (weight < 1 || seeds.isEmpty())) return;
-
-            seedCategories.add(new SeedCategory(seedType, weight, seeds));
-            totalSeedWeight += weight;
+            // Empty categories are kept, such that they become selectable once seeds are added
+            SeedCategory category = new SeedCategory(seedType, weight, seeds);
+            seedCategories.add(category);
+            markSeedFile(category);
         });
+        rebuildCategorySelection();
+
+        // Serve seeds locally, in place of the API
+        this.localSeedServer = new LocalSeedServer(plugin);
+        if (configHandler.isLocalSeedServerEnabled()) localSeedServer.start();
+
+        // Prefetch seeds, such that seeds can be added without waiting on the API
+        refillPrefetchBuffers();
+
+        // Reload seed files edited while the server is running
+        this.seedFileWatcher = new SeedFileWatcher(
+                new File(plugin.getDataFolder(), "seeds").toPath(),
+                this::reloadSeedFile
+        );
+        if (configHandler.isSeedFileWatchEnabled() && !seedFiles.isEmpty()) seedFileWatcher.start();
+    }
+
+    /**
+     * Stops background work of the seed manager, such as watching the seed files and the local seed server.
+     */
+    public void shutdown() {
+        seedHistory.stop();
+        seedFileWatcher.stop();
+        localSeedServer.stop();
     }
 
     private void createSeedFiles(File dataDirectory){
@@ -105,26 +171,186 @@ public class SeedManager {
         } catch (IOException ignored) {}
     }
 
-    private List<Long> loadSeeds(SeedCategory.SeedType seedType) {
+    private SeedStore loadSeeds(SeedCategory.SeedType seedType) {
         // Do not load seeds of type random
-        if (seedType == SeedCategory.SeedType.RANDOM) return Collections.emptyList();
+        if (seedType == SeedCategory.SeedType.RANDOM) return SeedStore.empty();
 
         // Ensure the seed file exists
         File seedFile = seedFiles.get(seedType);
-        if (!seedFile.exists()) return Collections.emptyList();
+        if (seedFile == null || !seedFile.exists()) return SeedStore.empty();
+
+        // Map the binary seed file, as long as it is up-to-date with the (CSV) seed file
+        File binaryFile = getBinarySeedFile(seedFile);
+        if (binaryFile.exists() && binaryFile.lastModified() >= seedFile.lastModified()) {
+            try {
+                SeedStore store = SeedStore.open(binaryFile.toPath());
+                if (store.getSourceLength() == seedFile.length()) return store;
+            } catch (IOException ex) {
+                logger.warning("[SRP] Invalid binary seed file " + binaryFile.getName() + ", converting again");
+            }
+        }
+
+        SeedStore store = convertSeeds(seedFile, binaryFile);
+        return store != null ? store : SeedStore.empty();
+    }
 
+    private SeedStore convertSeeds(File seedFile, File binaryFile) {
         // Parse each seed in the (CSV) file
+        long sourceLength = seedFile.length();
+        long[] seeds;
         try (Stream<String> lines = Files.lines(seedFile.toPath())) {
-            return lines.map(String::trim)
+            LongHashSet unique = new LongHashSet();
+            seeds = lines.map(String::trim)
                     .filter(s -> !s.isEmpty())
                     .map(s -> parseSeed(seedFile, s))
                     .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
+                    .mapToLong(Long::longValue)
+                    .filter(unique::add)
+                    .toArray();
 
-        } catch (IOException ex) {
+        } catch (IOException | UncheckedIOException ex) {
             logger.warning("[SRP] Failed to read seed file: " + seedFile.getPath());
-            return Collections.emptyList();
+            return null;
+        }
+
+        // Convert them to the binary seed file
+        try {
+            SeedStore store = SeedStore.write(binaryFile.toPath(), seeds, sourceLength);
+            logger.info("[SRP] Converted " + seeds.length + " seeds of " + seedFile.getName() + " to "
+                    + binaryFile.getName());
+            return store;
+        } catch (IOException ex) {
+            logger.warning("[SRP] Failed to write binary seed file " + binaryFile.getName() + ": " + ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reloads a changed seed file, swapping the new seeds into its category at once.
+     * <p>
+     * Seeds appended to the (CSV) seed file since it was last read are parsed and appended to the binary seed file,
+     * reading only the appended bytes. A trailing line without a line break is left for the next reload, as it may
+     * still be being written. The file only counts as appended to if the bytes up to the end of the previous read
+     * are unchanged, ending in a line break; any other change, e.g. lines edited or inserted by an editor, converts
+     * the file again in full. If that fails, the category keeps its current seeds.
+     * </p>
+     *
+     * @param file The changed file in the seeds folder.
+     */
+    private synchronized void reloadSeedFile(Path file) {
+        SeedCategory category = seedCategories.stream()
+                .filter(c -> seedFiles.containsKey(c.getSeedType()))
+                .filter(c -> seedFiles.get(c.getSeedType()).toPath().getFileName().equals(file.getFileName()))
+                .findFirst()
+                .orElse(null);
+        if (category == null) return;
+
+        // Seeds appended by this plugin have already been read, and marked as such
+        File seedFile = seedFiles.get(category.getSeedType());
+        SeedStore store = category.getSeeds();
+        SeedFileMark mark = seedFileMarks.get(category.getSeedType());
+        long length = seedFile.length();
+        long offset = store.getSourceLength();
+        if (length == offset && mark != null && mark.modified == seedFile.lastModified()) return;
+
+        SeedStore reloaded = null;
+        if (length > offset && !store.isEmpty() && isAppendedTo(seedFile, mark, offset)) {
+            try {
+                LongHashSet index = seedIndexes.get(category.getSeedType());
+                reloaded = appendSeedFileTail(seedFile, store, offset, length, index);
+            } catch (IOException | ArithmeticException e) {
+                logger.warning("[SRP] Failed to read the tail of seed file " + seedFile.getName()
+                        + ", converting again");
+            }
         }
+        if (reloaded == null) {
+            reloaded = convertSeeds(seedFile, getBinarySeedFile(seedFile));
+            if (reloaded == null) {
+                logger.warning("[SRP] Keeping the current seeds of " + seedFile.getName());
+                return;
+            }
+            seedIndexes.put(category.getSeedType(), indexSeeds(reloaded));
+        }
+        category.setSeeds(reloaded);
+        markSeedFile(category);
+        logger.info("[SRP] Reloaded seed file " + seedFile.getName() + ": " + reloaded.size() + " seeds");
+
+        // The category may have become (un)selectable
+        if (plugin.isEnabled()) Bukkit.getScheduler().runTask(plugin, this::rebuildCategorySelection);
+    }
+
+    private SeedStore appendSeedFileTail(File seedFile, SeedStore store, long offset, long length, LongHashSet index)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(seedFile.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer tail = ByteBuffer.allocate(Math.toIntExact(length - offset));
+            while (tail.hasRemaining()) {
+                if (channel.read(tail, offset + tail.position()) < 0) break;
+            }
+
+            // Only parse complete lines
+            byte[] bytes = tail.array();
+            int end = tail.position();
+            while (end > 0 && bytes[end - 1] != '\n') {
+                end--;
+            }
+            if (end == 0) return store;
+
+            long[] seeds = Arrays.stream(new String(bytes, 0, end, StandardCharsets.UTF_8).split("\n"))
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .map(s -> parseSeed(seedFile, s))
+                    .filter(Objects::nonNull)
+                    .mapToLong(Long::longValue)
+                    .filter(index::add)
+                    .toArray();
+            return store.append(seeds, offset + end);
+        }
+    }
+
+    private boolean isAppendedTo(File seedFile, SeedFileMark mark, long offset) {
+        if (mark == null || mark.boundary.length == 0 || mark.boundary[mark.boundary.length - 1] != '\n') {
+            return false;
+        }
+
+        try (FileChannel channel = FileChannel.open(seedFile.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer boundary = ByteBuffer.allocate(mark.boundary.length);
+            while (boundary.hasRemaining()) {
+                if (channel.read(boundary, offset - mark.boundary.length + boundary.position()) < 0) return false;
+            }
+            return Arrays.equals(boundary.array(), mark.boundary);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Remembers the state of the seed file of a category up to the length its seeds were read from, such that a
+     * later change can be told apart from an append.
+     *
+     * @param category The category, whose seeds have just been read from or written to its seed file.
+     */
+    private synchronized void markSeedFile(SeedCategory category) {
+        File seedFile = seedFiles.get(category.getSeedType());
+        if (seedFile == null) return;
+
+        long offset = category.getSeeds().getSourceLength();
+        try (FileChannel channel = FileChannel.open(seedFile.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer boundary = ByteBuffer.allocate((int) Math.min(offset, SEED_FILE_BOUNDARY_BYTES));
+            while (boundary.hasRemaining()) {
+                if (channel.read(boundary, offset - boundary.capacity() + boundary.position()) < 0) break;
+            }
+            seedFileMarks.put(category.getSeedType(), new SeedFileMark(seedFile.lastModified(),
+                    Arrays.copyOf(boundary.array(), boundary.position())));
+        } catch (IOException e) {
+            // Any change converts the file again in full
+            seedFileMarks.remove(category.getSeedType());
+        }
+    }
+
+    private File getBinarySeedFile(File seedFile) {
+        String name = seedFile.getName();
+        return new File(seedFile.getParentFile(), name.substring(0, name.length() - SEED_FILE_EXTENSION.length())
+                + BINARY_SEED_FILE_EXTENSION);
     }
 
     private Long parseSeed(File file, String seedString) {
@@ -147,150 +373,536 @@ public class SeedManager {
      *         or the RANDOM category was selected.
      */
     public Long selectSeed() {
-        if (seedCategories.isEmpty() || totalSeedWeight < 1) return null;
+        return selectSeed(Collections.emptyList());
+    }
 
-        // Roll a random number within the sum of weights
-        int weightRoll = ThreadLocalRandom.current().nextInt(totalSeedWeight);
-        int cumulativeWeight = 0;
+    /**
+     * Selects a random seed for the given players, avoiding seeds any of them has recently played.
+     * <p>
+     * Seeds are drawn as by {@link #selectSeed()}, redrawing both the category and the seed while the drawn seed
+     * was recently played. Once a category is (nearly) exhausted for the players, the redraws therefore move on to
+     * other categories. After 16 draws, the last drawn seed is accepted, even if it
+     * was recently played.
+     * </p>
+     * <p>
+     * With adaptive weighting enabled, the seed within the category is drawn by its weight from {@link SeedStats},
+     * rather than uniformly.
+     * </p>
+     *
+     * @param players The UUIDs of the players that will play the seed.
+     * @return A randomly selected seed value, or {@code null} if no suitable seed is available
+     *         or the RANDOM category was selected.
+     */
+    public Long selectSeed(Collection<UUID> players) {
+        CategorySelection selection = categorySelection;
+        if (selection == null) return null;
+
+        SeedCategory drawnFrom = null;
+        SeedSampler sampler = null;
+        int seedRoll = 0;
+        long seed = 0L;
+        for (int attempt = 0; attempt < MAX_SELECTION_ATTEMPTS; attempt++) {
+            // Pick a seed category in constant time
+            SeedCategory category = selection.categories[selection.aliasTable.sample()];
+
+            // Return null in case the RANDOM seed category was selected
+            if (category.getSeedType() == SeedCategory.SeedType.RANDOM) return null;
+
+            // The seeds may have been swapped out for none, before the selection is rebuilt on the main thread
+            SeedStore seeds = category.getSeeds();
+            if (seeds.isEmpty()) continue;
+
+            // Roll a seed within the category, by weight in logarithmic time if the seeds are weighted
+            sampler = seedSamplers.get(category.getSeedType());
+            if (sampler != null && sampler.store != seeds) sampler = null;
+            seedRoll = sampler != null
+                    ? sampler.tree.sample()
+                    : ThreadLocalRandom.current().nextInt(seeds.size());
+            seed = seeds.get(seedRoll);
+            drawnFrom = category;
+
+            if (!seedHistory.wasPlayed(players, seed)) break;
+        }
+        if (drawnFrom == null) return null;
 
-        // Pick a seed category
-        for (SeedCategory category : seedCategories) {
-            cumulativeWeight += category.getWeight();
+        // Remember where the seed is, such that its weight can be updated if a run of it starts
+        lastDrawnFrom = sampler;
+        lastDrawnSeed = seed;
+        lastDrawnIndex = seedRoll;
 
-            if (weightRoll < cumulativeWeight) {
-                // Return null in case the RANDOM seed category was selected
-                if (category.getSeedType() == SeedCategory.SeedType.RANDOM) return null;
+        logger.info("[SRP] Picked seed category: " + drawnFrom.getSeedType().name() + ", seed: " + seed);
+        return seed;
+    }
 
-                // Roll a random number within the lengths of seeds in the category
-                List<Long> seeds = category.getSeeds();
-                final int seedRoll = ThreadLocalRandom.current().nextInt(seeds.size());
-                Long seed = seeds.get(seedRoll);
+    /**
+     * Checks whether any of the given players has recently played a seed.
+     *
+     * @param players The UUIDs of the players.
+     * @param seed    The seed.
+     * @return {@code true} if the seed was recently played by any of the players.
+     */
+    public boolean wasPlayed(Collection<UUID> players, long seed) {
+        return seedHistory.wasPlayed(players, seed);
+    }
 
-                logger.info("[SRP] Picked seed category: " + category.getSeedType().name() + ", seed: " + seed);
-                return seed;
-            }
+    /**
+     * Records that the given players play a seed, such that it is avoided for them in future selections.
+     * <p>
+     * If the seed is the one last drawn by weight, its index is kept until the outcome of the run is recorded, such
+     * that its weight can be updated in logarithmic time.
+     * </p>
+     *
+     * @param players The UUIDs of the players.
+     * @param seed    The seed, ignored if {@code null}.
+     */
+    public void recordPlayed(Collection<UUID> players, Long seed) {
+        if (seed == null) return;
+        seedHistory.record(players, seed);
+
+        if (lastDrawnFrom != null && lastDrawnSeed == seed && seedSamplers.containsValue(lastDrawnFrom)) {
+            lastDrawnFrom.indexes.put(seed, lastDrawnIndex);
         }
+        lastDrawnFrom = null;
+    }
 
-        return null;
+    /**
+     * Records the outcome of a run, updating the weight of its seed if adaptive weighting is enabled.
+     *
+     * @param seed       The seed of the run, ignored if {@code null}.
+     * @param completed  Whether the run was completed, rather than aborted.
+     * @param resets     The number of resets during the run.
+     * @param timeMillis The time of the run in milliseconds.
+     */
+    public void recordOutcome(Long seed, boolean completed, int resets, long timeMillis) {
+        if (seed == null) return;
+        seedStats.record(seed, completed, resets, timeMillis);
+
+        // Only the sampler the run's seed was drawn from knows its index, a rebuilt sampler reads the new weight
+        seedSamplers.values().forEach(sampler -> {
+            Integer index = sampler.indexes.remove(seed);
+            if (index != null) sampler.tree.set(index, seedStats.weightOf(seed));
+        });
+    }
+
+    /**
+     * Rebuilds the alias table used to select seed categories, from the current weights and seeds of each category.
+     * <p>
+     * Only categories with a positive weight, and seeds (unless of type RANDOM), take part in the selection. The new
+     * table is swapped in at once, such that concurrent selections see either the old or the new table.
+     * </p>
+     */
+    private void rebuildCategorySelection() {
+        List<SeedCategory> selectable = seedCategories.stream()
+                .filter(category -> category.getWeight() > 0)
+                .filter(category -> category.getSeedType() == SeedCategory.SeedType.RANDOM
+                        || !category.getSeeds().isEmpty())
+                .collect(Collectors.toList());
+
+        rebuildSeedSamplers(selectable);
+        if (selectable.isEmpty()) {
+            categorySelection = null;
+            return;
+        }
+
+        double[] weights = selectable.stream().mapToDouble(SeedCategory::getWeight).toArray();
+        categorySelection = new CategorySelection(
+                selectable.toArray(new SeedCategory[0]),
+                new AliasTable(weights)
+        );
+    }
+
+    /**
+     * Rebuilds the samplers weighting the seeds of each category by their stats, for categories whose seeds have
+     * changed since their sampler was built. Without adaptive weighting, all samplers are dropped.
+     * <p>
+     * Seeds appended to a category are added to its sampler in place. Otherwise, e.g. once the seed file has been
+     * converted again, the sampler is built anew on an asynchronous task, as it takes linear time; until it is
+     * swapped in, seeds of the category are drawn uniformly.
+     * </p>
+     *
+     * @param selectable The selectable categories.
+     */
+    private void rebuildSeedSamplers(List<SeedCategory> selectable) {
+        if (!configHandler.isAdaptiveSeedWeighting()) {
+            seedSamplers.clear();
+            samplersInProgress.clear();
+            return;
+        }
+
+        Map<SeedCategory.SeedType, SeedSampler> samplers = new HashMap<>();
+        selectable.stream()
+                .filter(category -> category.getSeedType() != SeedCategory.SeedType.RANDOM)
+                .forEach(category -> {
+                    SeedStore seeds = category.getSeeds();
+                    SeedSampler sampler = seedSamplers.get(category.getSeedType());
+                    if (sampler != null && seeds.isAppendOf(sampler.store)) {
+                        sampler.extend(seeds, seedStats);
+                        samplers.put(category.getSeedType(), sampler);
+                    } else {
+                        buildSeedSamplerAsync(category.getSeedType(), seeds);
+                    }
+                });
+        seedSamplers.clear();
+        seedSamplers.putAll(samplers);
+        samplersInProgress.keySet().retainAll(selectable.stream()
+                .map(SeedCategory::getSeedType)
+                .collect(Collectors.toSet()));
+    }
+
+    private void buildSeedSamplerAsync(SeedCategory.SeedType seedType, SeedStore seeds) {
+        // A sampler over these seeds may be in progress already
+        if (samplersInProgress.put(seedType, seeds) == seeds) return;
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            SeedSampler sampler = new SeedSampler(seeds, seedStats);
+            if (!plugin.isEnabled()) return;
+
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                // Superseded by newer seeds, or dropped, in the meantime
+                if (!samplersInProgress.remove(seedType, seeds)) return;
+
+                // Outcomes may have been recorded while the sampler was built
+                sampler.indexes.forEach((seed, index) -> sampler.tree.set(index, seedStats.weightOf(seed)));
+                sampler.indexes.clear();
+                seedSamplers.put(seedType, sampler);
+            });
+        });
     }
 
     /**
      * Asynchronously adds a number of seeds to the given {@link SeedCategory.SeedType}.
      * <p>
-     * This method schedules the addition to run on a separate thread to avoid blocking
-     * the main server thread. Newly added seeds are persisted to their corresponding CSV files and are written to
-     * memory to avoid having to restart/reload the server.
+     * Seeds are taken from the prefetch buffer of the category first, the remainder is fetched concurrently by the
+     * {@link SeedFetcher}. Newly added seeds are persisted to their corresponding CSV files and are written to
+     * memory to avoid having to restart/reload the server. If fetching or persisting fails, the seeds taken from the
+     * prefetch buffer are put back, and the sender is told so.
      * </p>
      *
      * @param seedType the category of seeds to add
-     * @param amount   the number of seeds to add (between 1 and 10 (inclusive))
+     * @param amount   the number of seeds to add (between 1 and the configured maximum (inclusive))
      * @param sender   the {@code CommandSender} responsible for adding the seed
      */
     public void addSeedAsync(SeedCategory.SeedType seedType, int amount, CommandSender sender) {
         int minimumAmount = 1;
         if (amount < minimumAmount) {
-            sender.sendMessage(Color.RED + "The amount must be greater than 0!");
+            sender.sendMessage(ChatColor.RED + "The amount must be greater than 0!");
             return;
         }
-        int maximumAmount = 10;
+        int maximumAmount = configHandler.getSeedFetchMaxAmount();
         if (amount > maximumAmount) {
-            sender.sendMessage(Color.RED + "The amount must be less than 10!");
+            sender.sendMessage(ChatColor.RED + "The amount must be at most " + maximumAmount + "!");
             return;
         }
         if (seedType == SeedCategory.SeedType.RANDOM) {
-            sender.sendMessage(Color.RED + "No need to add seeds of this type!");
+            sender.sendMessage(ChatColor.RED + "No need to add seeds of this type!");
             return;
         }
 
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            int newSeedCount = requestSeeds(seedType, amount);
-
-            // Feedback
-            Color color = newSeedCount == amount ? Color.GREEN : newSeedCount > amount / 2 ? Color.YELLOW : Color.RED;
-            String successMessage = newSeedCount > 0 ? "Successfully" : "Unsuccessfully";
-            String message = String.format(
-                    "%s %s added %d new %s seeds!",
-                    color,
-                    successMessage,
-                    newSeedCount,
-                    seedType.name()
-            );
-            sender.sendMessage(message);
-        });
-    }
-
-    private int requestSeeds(SeedCategory.SeedType seedType, int amount) {
-        File seedFile = seedFiles.get(seedType);
-        if (seedFile == null) return 0;
-
         // Find category in memory
         SeedCategory category = seedCategories.stream()
                 .filter(c -> c.getSeedType() == seedType)
                 .findFirst()
                 .orElse(null);
 
-        if (category == null) return 0;
+        if (category == null || seedFiles.get(seedType) == null) {
+            sendAddedSeeds(sender, seedType, amount, 0);
+            return;
+        }
 
-        List<Long> existingSeeds = category.getSeeds();
-        List<Long> newSeeds = new ArrayList<>();
+        // Serve what we can from the prefetch buffer, fetch the rest
+        List<Long> bufferedSeeds = new ArrayList<>();
+        Deque<Long> buffer = prefetchBuffers.get(seedType);
+        while (buffer != null && bufferedSeeds.size() < amount) {
+            Long seed = buffer.poll();
+            if (seed == null) break;
+            bufferedSeeds.add(seed);
+        }
 
-        try {
-            // Construct the API endpoint from the given seed type
-            URI uri = new URI(configHandler.getFilteredSeedsApi().toString() + seedType.getFsgName());
-
-            for (int i = 1; i <= amount; i++) {
-                // Make the request to the API
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(uri)
-                        .header("Accept", "application/json")
-                        .GET()
-                        .build();
-
-                // Parse and add the new seeds
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-                Optional<Long> seed = parseResponse(response.body());
-                seed.ifPresent(newSeeds::add);
+        seedFetcher.fetch(seedType, amount - bufferedSeeds.size()).thenApply(fetchedSeeds -> {
+            List<Long> newSeeds = new ArrayList<>(bufferedSeeds);
+            newSeeds.addAll(fetchedSeeds);
+
+            // Persist seeds to the seed files, off the main thread, skipping seeds already known
+            try {
+                return persistSeeds(category, newSeeds);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
-        } catch (URISyntaxException | InterruptedException | IOException e) {
-            logger.warning("[SRP] Failed to fetch seed: " + e.getMessage());
-        }
+        }).whenComplete((added, error) -> {
+            if (error != null) {
+                // The buffered seeds were not added, hand them back in their original order
+                if (buffer != null) {
+                    for (int i = bufferedSeeds.size() - 1; i >= 0; i--) {
+                        buffer.addFirst(bufferedSeeds.get(i));
+                    }
+                }
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                logger.warning("[SRP] Failed to add seeds to " + seedType.name() + ": " + cause.getMessage());
+            } else {
+                logger.info("[SRP] Added " + added + " seeds to " + seedType.name() + "!");
+            }
+            if (!plugin.isEnabled()) return;
+
+            // Make the seeds selectable (ensuring that a reload is not necessary)
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (error != null) {
+                    sender.sendMessage(ChatColor.RED + "Failed to add " + seedType.name()
+                            + " seeds, see the console for details!");
+                    return;
+                }
+                if (added > 0) rebuildCategorySelection();
+                sendAddedSeeds(sender, seedType, amount, added);
+                refillPrefetchBuffer(seedType);
+            });
+        });
+    }
+
+    /**
+     * Asynchronously fetches a number of seeds of the given type without adding them, measuring the throughput of
+     * the {@link SeedFetcher}.
+     * <p>
+     * The report includes the responses of the {@link LocalSeedServer} per outcome, if it is running, such that
+     * injected failures can be compared with the seeds that were fetched despite them.
+     * </p>
+     *
+     * @param seedType the type of seeds to fetch
+     * @param amount   the number of seeds to fetch
+     * @param callback invoked on the main thread with the report lines
+     */
+    public void benchmarkFetch(SeedCategory.SeedType seedType, int amount, Consumer<List<String>> callback) {
+        long start = System.nanoTime();
+        seedFetcher.fetch(seedType, amount).thenAccept(seeds -> {
+            long elapsedMillis = Math.max(1L, (System.nanoTime() - start) / 1_000_000L);
+            List<String> report = new ArrayList<>();
+            report.add(String.format("Fetched %d/%d %s seeds in %d ms (%.1f seeds/s)", seeds.size(), amount,
+                    seedType.name(), elapsedMillis, seeds.size() * 1000.0 / elapsedMillis));
+            if (localSeedServer.isRunning()) report.addAll(localSeedServer.getReport());
+
+            if (plugin.isEnabled()) Bukkit.getScheduler().runTask(plugin, () -> callback.accept(report));
+        });
+    }
 
-        // Persist seeds to the seed file
-        persistSeeds(seedType, newSeeds);
+    private void sendAddedSeeds(CommandSender sender, SeedCategory.SeedType seedType, int amount, int newSeedCount) {
+        ChatColor color = newSeedCount == amount
+                ? ChatColor.GREEN
+                : newSeedCount > amount / 2 ? ChatColor.YELLOW : ChatColor.RED;
+        String successMessage = newSeedCount > 0 ? "Successfully" : "Unsuccessfully";
+        String message = String.format(
+                "%s%s added %d new %s seeds!",
+                color,
+                successMessage,
+                newSeedCount,
+                seedType.name()
+        );
+        sender.sendMessage(message);
+    }
 
-        // Write the seeds to memory (ensuring that a reload is not necessary)
-        existingSeeds.addAll(newSeeds);
+    /* ==========================================================
+     *                     PREFETCH BUFFERS
+     * ========================================================== */
+    private void refillPrefetchBuffers() {
+        if (!configHandler.isFilteredSeeds() || configHandler.getFilteredSeedsApi() == null) return;
 
-        logger.info("[SRP] Added " + newSeeds.size() + " seeds to " + seedType.name() + "!");
-        return newSeeds.size();
+        seedCategories.stream()
+                .filter(category -> category.getWeight() > 0)
+                .map(SeedCategory::getSeedType)
+                .filter(seedType -> seedType != SeedCategory.SeedType.RANDOM)
+                .forEach(this::refillPrefetchBuffer);
     }
 
-    private Optional<Long> parseResponse(String body) {
-        if (body == null || body.isBlank()) return Optional.empty();
-        try {
-            int start = body.indexOf("\"seed\":\"") + 8;
-            int end = body.indexOf('"', start);
-            return Optional.of(Long.parseLong(body.substring(start, end)));
-        } catch (NumberFormatException | IndexOutOfBoundsException e) {
-            return Optional.empty();
-        }
+    private void refillPrefetchBuffer(SeedCategory.SeedType seedType) {
+        int bufferSize = configHandler.getSeedPrefetchBufferSize();
+        Deque<Long> buffer = prefetchBuffers.computeIfAbsent(seedType, type -> new ConcurrentLinkedDeque<>());
+
+        // Only refill once the buffer has dropped below its low-water mark, and one refill at a time
+        if (buffer.size() >= Math.min(configHandler.getSeedPrefetchLowWaterMark(), bufferSize)) return;
+        if (!refillingBuffers.add(seedType)) return;
+
+        seedFetcher.fetch(seedType, bufferSize - buffer.size()).whenComplete((seeds, error) -> {
+            if (seeds != null) buffer.addAll(seeds);
+            refillingBuffers.remove(seedType);
+        });
     }
 
-    private void persistSeeds(SeedCategory.SeedType seedType, List<Long> seeds) {
-        File seedFile = seedFiles.get(seedType);
-        if (seedFile == null || seeds.isEmpty()) return;
+    private synchronized int persistSeeds(SeedCategory category, List<Long> seeds) throws IOException {
+        File seedFile = seedFiles.get(category.getSeedType());
+        if (seedFile == null || seeds.isEmpty()) return 0;
+
+        // Skip seeds the category already has, or that are repeated
+        LongHashSet index = seedIndexes.get(category.getSeedType());
+        long[] newSeeds = seeds.stream().mapToLong(Long::longValue).filter(index::add).toArray();
+        if (newSeeds.length == 0) return 0;
 
         try (BufferedWriter writer = Files.newBufferedWriter(seedFile.toPath(), StandardCharsets.UTF_8,
                 java.nio.file.StandardOpenOption.CREATE,
                 java.nio.file.StandardOpenOption.APPEND)) {
 
-            for (Long seed : seeds) {
-                writer.write(seed.toString());
+            for (long seed : newSeeds) {
+                writer.write(Long.toString(seed));
                 writer.newLine();
             }
 
         } catch (IOException e) {
-            logger.warning("[SRP] Failed to persist seeds to file " + seedFile.getName() + ": " + e.getMessage());
+            seedIndexes.put(category.getSeedType(), indexSeeds(category.getSeeds()));
+            throw new IOException("Failed to persist seeds to file " + seedFile.getName() + ": " + e.getMessage(), e);
         }
+
+        // Append the seeds to the binary seed file, swapping in the new store at once
+        SeedStore store = category.getSeeds();
+        try {
+            category.setSeeds(store.isEmpty()
+                    ? SeedStore.write(getBinarySeedFile(seedFile).toPath(), newSeeds, seedFile.length())
+                    : store.append(newSeeds, seedFile.length()));
+        } catch (IOException e) {
+            // The binary seed file is converted again from the CSV file on the next start-up
+            logger.warning("[SRP] Failed to append seeds to the binary seed file: " + e.getMessage());
+        }
+        markSeedFile(category);
+        return newSeeds.length;
+    }
+
+    /* ==========================================================
+     *                      SEED COMPACTION
+     * ========================================================== */
+    /**
+     * Asynchronously compacts the seed files of all categories.
+     * <p>
+     * Each (CSV) seed file is rewritten sorted, without duplicate and invalid seeds, replacing the original file
+     * atomically through a temporary file. The binary seed file is rewritten to match. The number of removed
+     * entries is reported to the sender.
+     * </p>
+     *
+     * @param sender the {@code CommandSender} responsible for the compaction
+     */
+    public void compactSeedsAsync(CommandSender sender) {
+        sender.sendMessage(ChatColor.YELLOW + "Compacting seed files...");
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            List<String> results = new ArrayList<>();
+            seedCategories.stream()
+                    .filter(category -> seedFiles.containsKey(category.getSeedType()))
+                    .forEach(category -> {
+                        int removed = compactSeedFile(category);
+                        results.add(removed < 0
+                                ? ChatColor.RED + category.getSeedType().name() + ": failed"
+                                : ChatColor.GREEN + category.getSeedType().name() + ": " + removed
+                                + " entries removed, " + category.getSeeds().size() + " seeds");
+                    });
+            if (!plugin.isEnabled()) return;
+
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                results.forEach(sender::sendMessage);
+                rebuildCategorySelection();
+            });
+        });
+    }
+
+    private synchronized int compactSeedFile(SeedCategory category) {
+        File seedFile = seedFiles.get(category.getSeedType());
+        if (!seedFile.exists()) return 0;
+
+        // Parse, sort and deduplicate the seeds
+        long entries;
+        long[] seeds;
+        try (Stream<String> lines = Files.lines(seedFile.toPath())) {
+            List<String> nonEmpty = lines.map(String::trim).filter(s -> !s.isEmpty()).collect(Collectors.toList());
+            entries = nonEmpty.size();
+            seeds = nonEmpty.stream()
+                    .map(s -> parseSeed(seedFile, s))
+                    .filter(Objects::nonNull)
+                    .mapToLong(Long::longValue)
+                    .sorted()
+                    .distinct()
+                    .toArray();
+        } catch (IOException | UncheckedIOException e) {
+            logger.warning("[SRP] Failed to read seed file " + seedFile.getName() + ": " + e.getMessage());
+            return -1;
+        }
+
+        // Replace the seed file atomically, then rewrite the binary seed file to match
+        Path temporary = seedFile.toPath().resolveSibling(seedFile.getName() + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                for (long seed : seeds) {
+                    writer.write(Long.toString(seed));
+                    writer.newLine();
+                }
+            }
+            Files.move(temporary, seedFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+
+            SeedStore store = SeedStore.write(getBinarySeedFile(seedFile).toPath(), seeds, seedFile.length());
+            seedIndexes.put(category.getSeedType(), indexSeeds(store));
+            category.setSeeds(store);
+            markSeedFile(category);
+        } catch (IOException e) {
+            logger.warning("[SRP] Failed to compact seed file " + seedFile.getName() + ": " + e.getMessage());
+            return -1;
+        }
+
+        long removed = entries - seeds.length;
+        logger.info("[SRP] Compacted seed file " + seedFile.getName() + ": " + removed + " entries removed");
+        return (int) removed;
+    }
+
+    private LongHashSet indexSeeds(SeedStore store) {
+        LongHashSet index = new LongHashSet(store.size());
+        for (int i = 0; i < store.size(); i++) {
+            index.add(store.get(i));
+        }
+        return index;
+    }
+
+    /**
+     * The seeds of a category, weighted by their stats in a Fenwick tree, such that both drawing a seed and updating
+     * its weight take logarithmic time.
+     */
+    private static final class SeedSampler {
+        private SeedStore store;
+        private final FenwickTree tree;
+
+        // Indexes of the seeds of runs in progress, whose weight changes once their outcome is recorded; while the
+        // sampler is being built, the indexes of all seeds with stats instead
+        private final Map<Long, Integer> indexes = new HashMap<>();
+
+        private SeedSampler(SeedStore store, SeedStats stats) {
+            this.store = store;
+
+            double[] weights = new double[store.size()];
+            for (int i = 0; i < weights.length; i++) {
+                long seed = store.get(i);
+                weights[i] = stats.weightOf(seed);
+                if (stats.get(seed) != null) indexes.put(seed, i);
+            }
+            this.tree = new FenwickTree(weights);
+        }
+
+        private void extend(SeedStore appended, SeedStats stats) {
+            for (int i = store.size(); i < appended.size(); i++) {
+                long seed = appended.get(i);
+                tree.add(stats.weightOf(seed));
+            }
+            store = appended;
+        }
+    }
+
+    /**
+     * The modification time of a seed file as last read, and its last bytes up to the length read.
+     */
+    @AllArgsConstructor
+    private static final class SeedFileMark {
+        private final long modified;
+        private final byte[] boundary;
+    }
+
+    /**
+     * An immutable snapshot of the selectable seed categories, and the alias table to pick one of them.
+     */
+    @AllArgsConstructor
+    private static final class CategorySelection {
+        private final SeedCategory[] categories;
+        private final AliasTable aliasTable;
     }
 }
@@ -0,0 +1,200 @@
+package com.fx.srp.managers.util;
+
+import com.fx.srp.SpeedRunPlus;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Records the outcome of every run per seed, such that seeds can be weighted by how they played out.
+ *
+ * <p>Outcomes are appended to the plugin's {@code seed-stats.bin} file as fixed-size records, and aggregated per
+ * seed in memory when the file is loaded. The file is only ever appended to; a trailing partial record, left by an
+ * interrupted write, is ignored.</p>
+ *
+ * <p>Record layout:</p>
+ * <ul>
+ *     <li>{@code long} seed</li>
+ *     <li>{@code byte} whether the run was completed</li>
+ *     <li>{@code int} number of resets during the run</li>
+ *     <li>{@code long} time of the run in milliseconds</li>
+ * </ul>
+ */
+public class SeedStats {
+
+    private final Logger logger = Bukkit.getLogger();
+    private final SpeedRunPlus plugin;
+
+    private static final String STATS_FILE = "seed-stats.bin";
+    private static final int MAGIC = 0x53525054;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = Long.BYTES + 1 + Integer.BYTES + Long.BYTES;
+
+    // Each reset per run divides the weight of a seed by this much more
+    private static final double RESET_PENALTY = 0.5;
+    private static final double MIN_WEIGHT = 0.05;
+
+    private final Path file;
+    private final Map<Long, Outcomes> outcomes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the seed stats, loading the outcomes recorded so far.
+     *
+     * @param plugin the main plugin instance, used to locate the plugin data folder and for scheduling
+     */
+    public SeedStats(SpeedRunPlus plugin) {
+        this.plugin = plugin;
+        this.file = plugin.getDataFolder().toPath().resolve(STATS_FILE);
+        load();
+    }
+
+    /**
+     * Records the outcome of a run, persisting it asynchronously while the plugin is enabled.
+     *
+     * @param seed       the seed of the run
+     * @param completed  whether the run was completed, rather than aborted
+     * @param resets     the number of resets during the run
+     * @param timeMillis the time of the run in milliseconds
+     */
+    public void record(long seed, boolean completed, int resets, long timeMillis) {
+        outcomes.computeIfAbsent(seed, s -> new Outcomes()).add(completed, resets, timeMillis);
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.putLong(seed).put((byte) (completed ? 1 : 0)).putInt(resets).putLong(timeMillis).flip();
+
+        // The scheduler can no longer be used once the plugin is being disabled
+        if (plugin.isEnabled()) Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> append(record));
+        else append(record);
+    }
+
+    /**
+     * Returns the aggregated outcomes of a seed.
+     *
+     * @param seed the seed
+     * @return the outcomes, or {@code null} if no run of the seed has been recorded
+     */
+    public Outcomes get(long seed) {
+        return outcomes.get(seed);
+    }
+
+    /**
+     * Checks whether any run has been recorded.
+     *
+     * @return {@code true} if no outcome has been recorded
+     */
+    public boolean isEmpty() {
+        return outcomes.isEmpty();
+    }
+
+    /**
+     * Returns the sampling weight of a seed, relative to the weight {@code 1} of an unplayed seed.
+     * <p>
+     * The weight is twice the completion rate, smoothed such that an unplayed seed counts as completed half of
+     * the time, divided by the average number of resets per run. Every seed keeps a small positive weight, such
+     * that it can recover from a few unlucky runs. The time of the runs is not weighed in, as it tells more about
+     * the players than about the seed; it is kept for the statistics only.
+     * </p>
+     *
+     * @param seed the seed
+     * @return the weight of the seed
+     */
+    public double weightOf(long seed) {
+        // Samplers are built off the main thread, possibly seeing outcomes before their first run is added
+        Outcomes seedOutcomes = outcomes.get(seed);
+        if (seedOutcomes == null || seedOutcomes.runs == 0) return 1.0;
+
+        double completionRate = (seedOutcomes.completions + 1.0) / (seedOutcomes.runs + 2.0);
+        double resetsPerRun = (double) seedOutcomes.resets / seedOutcomes.runs;
+        return Math.max(MIN_WEIGHT, 2.0 * completionRate / (1.0 + RESET_PENALTY * resetsPerRun));
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private void load() {
+        if (!Files.exists(file)) return;
+
+        int records = 0;
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file));
+             DataInputStream data = new DataInputStream(input)) {
+
+            if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+                logger.warning("[SRP] Unknown format of " + STATS_FILE + ", seed stats are not loaded");
+                return;
+            }
+
+            long recordCount = (Files.size(file) - HEADER_SIZE) / RECORD_SIZE;
+            for (; records < recordCount; records++) {
+                long seed = data.readLong();
+                boolean completed = data.readByte() != 0;
+                int resets = data.readInt();
+                long timeMillis = data.readLong();
+                outcomes.computeIfAbsent(seed, s -> new Outcomes()).add(completed, resets, timeMillis);
+            }
+        } catch (EOFException e) {
+            // The file was appended to while being read
+        } catch (IOException e) {
+            logger.warning("[SRP] Failed to read " + STATS_FILE + ": " + e.getMessage());
+        }
+        logger.info("[SRP] Loaded " + records + " runs of " + outcomes.size() + " seeds from " + STATS_FILE);
+    }
+
+    private void append(ByteBuffer record) {
+        synchronized (file) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                long size = channel.size();
+                if (size < HEADER_SIZE) {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+                    writeFully(channel, header, 0);
+                    size = HEADER_SIZE;
+                }
+
+                // Overwrite a trailing partial record, rather than misaligning all following records
+                long position = size - (size - HEADER_SIZE) % RECORD_SIZE;
+                writeFully(channel, record, position);
+            } catch (IOException e) {
+                logger.warning("[SRP] Failed to append to " + STATS_FILE + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer bytes, long position) throws IOException {
+        while (bytes.hasRemaining()) {
+            position += channel.write(bytes, position);
+        }
+    }
+
+    /**
+     * The aggregated outcomes of all recorded runs of a single seed.
+     */
+    @Getter
+    public static final class Outcomes {
+        private int runs;
+        private int completions;
+        private long resets;
+        private long bestTimeMillis = Long.MAX_VALUE;
+
+        private void add(boolean completed, int runResets, long timeMillis) {
+            runs++;
+            resets += runResets;
+            if (!completed) return;
+
+            completions++;
+            bestTimeMillis = Math.min(bestTimeMillis, timeMillis);
+        }
+    }
+}
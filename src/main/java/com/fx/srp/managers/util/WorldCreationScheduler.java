@@ -0,0 +1,179 @@
+package com.fx.srp.managers.util;
+
+import com.fx.srp.SpeedRunPlus;
+import com.fx.srp.config.ConfigHandler;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Spreads the main-thread steps of world creation, such as loading a single dimension, across ticks.
+ *
+ * <p>Each tick, queued steps are run until the configured millisecond budget is used up (at least one step runs
+ * per tick). Steps of world sets requested by players are run before those of background work such as refilling
+ * the world pool; within the same priority, the steps of the earliest request run first. The latency of each
+ * step is recorded per step name in the {@link WorldMetrics}.</p>
+ *
+ * <p>A request fails once one of its steps throws, or reports a failure through {@link #fail(long, String)}. The
+ * remaining steps of a failed request are dropped, and its failure handler is run instead, such that the caller can
+ * clean up the worlds created so far. A request ends with {@link #finish(long)}.</p>
+ *
+ * <p>All methods must be called from the main server thread.</p>
+ */
+public class WorldCreationScheduler {
+
+    private final Logger logger = Bukkit.getLogger();
+    private final ConfigHandler configHandler = ConfigHandler.getInstance();
+    private final SpeedRunPlus plugin;
+
+    /**
+     * The priority of a world creation request, in descending order of urgency.
+     */
+    public enum Priority {
+        PLAYER,
+        BACKGROUND
+    }
+
+    private static final class Step {
+        private final Priority priority;
+        private final long request;
+        private final long sequence;
+        private final String name;
+        private final Runnable action;
+
+        private Step(Priority priority, long request, long sequence, String name, Runnable action) {
+            this.priority = priority;
+            this.request = request;
+            this.sequence = sequence;
+            this.name = name;
+            this.action = action;
+        }
+    }
+
+    private final PriorityQueue<Step> steps = new PriorityQueue<>(Comparator
+            .comparing((Step step) -> step.priority)
+            .thenComparingLong(step -> step.request)
+            .thenComparingLong(step -> step.sequence));
+    private final WorldMetrics metrics;
+
+    // Failure handlers of the requests in progress, by request number
+    private final Map<Long, Runnable> requests = new HashMap<>();
+    private long nextRequest;
+    private long nextSequence;
+    private BukkitTask task;
+
+    /**
+     * Constructs a world creation scheduler.
+     *
+     * @param plugin  the main plugin instance, used for scheduling
+     * @param metrics the world metrics, recording the latency of each step
+     */
+    public WorldCreationScheduler(SpeedRunPlus plugin, WorldMetrics metrics) {
+        this.plugin = plugin;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Registers a new world creation request, whose steps are ordered after those of earlier requests.
+     *
+     * @param onFailure run on the main thread if the request fails, instead of its remaining steps
+     * @return the request number, to pass to {@link #submit(long, Priority, String, Runnable)}
+     */
+    public long newRequest(Runnable onFailure) {
+        long request = nextRequest++;
+        requests.put(request, onFailure);
+        return request;
+    }
+
+    /**
+     * Queues a step of a world creation request.
+     *
+     * @param request  the request number, see {@link #newRequest(Runnable)}
+     * @param priority the priority of the request
+     * @param name     the name of the step, under which its latency is recorded
+     * @param action   the step to run on the main thread
+     */
+    public void submit(long request, Priority priority, String name, Runnable action) {
+        // Steps of failed requests, e.g. submitted after an asynchronous task, are dropped
+        if (!requests.containsKey(request)) return;
+
+        steps.add(new Step(priority, request, nextSequence++, name, action));
+        if (task == null) task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 0L, 1L);
+    }
+
+    /**
+     * Ends a request once all its steps have run.
+     *
+     * @param request the request number
+     */
+    public void finish(long request) {
+        requests.remove(request);
+    }
+
+    /**
+     * Fails a request: its remaining steps are dropped, and its failure handler is run.
+     *
+     * @param request the request number
+     * @param reason  the reason of the failure, which is logged
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public void fail(long request, String reason) {
+        Runnable onFailure = requests.remove(request);
+        if (onFailure == null) return;
+
+        logger.warning("[SRP] World creation failed: " + reason);
+        steps.removeIf(step -> step.request == request);
+        try {
+            onFailure.run();
+        } catch (RuntimeException e) {
+            logger.warning("[SRP] Failed to clean up after a failed world creation: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of queued world creation steps.
+     *
+     * @return the queue size
+     */
+    public int getQueuedSteps() {
+        return steps.size();
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void tick() {
+        long budgetNanos = TimeUnit.MILLISECONDS.toNanos(configHandler.getWorldCreationTickBudget());
+        long deadline = System.nanoTime() + budgetNanos;
+
+        do {
+            Step step = steps.poll();
+            if (step == null) {
+                task.cancel();
+                task = null;
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                step.action.run();
+            } catch (RuntimeException e) {
+                fail(step.request, "step " + step.name + " threw " + e);
+            }
+            long elapsed = System.nanoTime() - start;
+            metrics.recordStep(step.name, elapsed);
+
+            if (elapsed > budgetNanos) {
+                logger.info("[SRP] World creation step " + step.name + " took "
+                        + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms");
+            }
+        } while (System.nanoTime() < deadline);
+    }
+}
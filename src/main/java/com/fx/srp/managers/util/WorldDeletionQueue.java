@@ -0,0 +1,191 @@
+package com.fx.srp.managers.util;
+
+import com.fx.srp.SpeedRunPlus;
+import com.fx.srp.config.ConfigHandler;
+import org.bukkit.Bukkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Deletes the folders of unloaded speedrun worlds in the background.
+ *
+ * <p>Worlds are unloaded on the main server thread by the {@link WorldManager}, after which their folders are
+ * handed to this queue. A fixed number of worker threads removes the folders using
+ * {@link Files#walkFileTree}, keeping the recursive delete off the main thread. Folders that are symbolic links
+ * into an alternate storage root are deleted together with the folder they link to. The latency of every deletion
+ * is recorded in the {@link WorldMetrics}, by the storage location of the folder.</p>
+ *
+ * <p>On shutdown, the queue is drained for a configurable amount of time. Folders that are still pending are
+ * persisted to the plugin data folder and deleted on the next start-up.</p>
+ */
+public class WorldDeletionQueue {
+
+    private final Logger logger = Bukkit.getLogger();
+    private final ConfigHandler configHandler = ConfigHandler.getInstance();
+
+    private static final String PENDING_FILE = "pending-deletions.txt";
+
+    private final File pendingFile;
+    private final ExecutorService executor;
+    private final WorldMetrics metrics;
+
+    // Statistics
+    private final Set<Path> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicLong bytesReclaimed = new AtomicLong();
+
+    /**
+     * Constructs the deletion queue and resumes deletions persisted by the previous session.
+     *
+     * @param plugin  the main plugin instance, used to locate the plugin data folder
+     * @param metrics the metrics to record the latency of deletions in
+     */
+    public WorldDeletionQueue(SpeedRunPlus plugin, WorldMetrics metrics) {
+        this.pendingFile = new File(plugin.getDataFolder(), PENDING_FILE);
+        this.metrics = metrics;
+        this.executor = Executors.newFixedThreadPool(configHandler.getWorldDeletionThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "SRP-World-Deletion");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        resumePendingDeletions();
+    }
+
+    /**
+     * Queues the folder of an unloaded world for deletion.
+     *
+     * @param folder the world folder to delete, the world must no longer be loaded
+     */
+    public void enqueue(File folder) {
+        Path path = folder.toPath().toAbsolutePath();
+        if (!pending.add(path)) return;
+
+        executor.execute(() -> {
+            String location = WorldStorage.locationOf(path);
+            long start = System.nanoTime();
+            if (delete(path)) {
+                metrics.recordStorage(WorldMetrics.Operation.DELETE_WORLD_FOLDER, location, System.nanoTime() - start);
+            }
+            pending.remove(path);
+        });
+    }
+
+    /**
+     * Returns the number of world folders waiting to be, or being, deleted.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the total number of bytes freed by deleted world folders.
+     *
+     * @return the reclaimed bytes
+     */
+    public long getBytesReclaimed() {
+        return bytesReclaimed.get();
+    }
+
+    /**
+     * Drains the queue for up to the configured timeout, then persists any folders still pending.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(configHandler.getWorldDeletionShutdownTimeout(), TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        persistPendingDeletions();
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private boolean delete(Path folder) {
+        try {
+            // Worlds stored under an alternate storage root are linked into the world container
+            if (Files.isSymbolicLink(folder)) {
+                Path target = folder.resolveSibling(Files.readSymbolicLink(folder));
+                Files.delete(folder);
+                return delete(target);
+            }
+
+            Files.walkFileTree(folder, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.delete(file);
+                    bytesReclaimed.addAndGet(attrs.size());
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                    if (exc != null) throw exc;
+                    Files.delete(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (NoSuchFileException ignored) {
+            // Already deleted
+        } catch (IOException e) {
+            logger.warning("[SRP] Failed to delete world folder " + folder.getFileName() + ": " + e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    private void resumePendingDeletions() {
+        if (!pendingFile.exists()) return;
+
+        try {
+            List<String> lines = Files.readAllLines(pendingFile.toPath(), StandardCharsets.UTF_8);
+            Files.delete(pendingFile.toPath());
+
+            lines.stream()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .forEach(line -> enqueue(Paths.get(line).toFile()));
+
+            if (!lines.isEmpty()) logger.info("[SRP] Resuming deletion of " + lines.size() + " world folder(s)");
+        } catch (IOException e) {
+            logger.warning("[SRP] Failed to read pending world deletions: " + e.getMessage());
+        }
+    }
+
+    private void persistPendingDeletions() {
+        if (pending.isEmpty()) return;
+
+        List<String> lines = pending.stream().map(Path::toString).collect(Collectors.toList());
+        try {
+            Files.write(pendingFile.toPath(), lines, StandardCharsets.UTF_8);
+            logger.info("[SRP] Persisted " + lines.size() + " pending world deletion(s) for the next start-up");
+        } catch (IOException e) {
+            logger.warning("[SRP] Failed to persist pending world deletions: " + e.getMessage());
+        }
+    }
+}
@@ -3,23 +3,41 @@ package com.fx.srp.managers.util;
 import com.fx.srp.SpeedRunPlus;
 import com.fx.srp.config.ConfigHandler;
 import com.fx.srp.model.player.Speedrunner;
+import com.fx.srp.model.world.WorldDimension;
 import com.onarandombox.MultiverseCore.api.MVWorldManager;
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
 import com.onarandombox.MultiverseNetherPortals.MultiverseNetherPortals;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
 import org.bukkit.Location;
-import org.bukkit.PortalType;
 import org.bukkit.World;
 import org.bukkit.WorldType;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Consumer;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 /**
  * Handles creation, management, and deletion of speedrun worlds for players.
@@ -27,53 +45,134 @@ import java.util.concurrent.atomic.AtomicInteger;
  * <p>This class relies on Multiverse-Core and Multiverse-Nether-Portals to manage
  * multiple isolated world sets per player. Each player can have an Overworld, Nether,
  * and End world linked together. It also ensures leftover worlds from previous sessions
- * are cleaned up on plugin initialization.</p>
+ * are reclaimed after plugin initialization, incrementally, without holding up the server start-up.</p>
+ *
+ * <p>World folders are deleted off the main thread by the {@link WorldDeletionQueue}, once the worlds
+ * have been unloaded.</p>
  *
  * <p>Main responsibilities:</p>
  * <ul>
  *     <li>Create world sets for one or more players with optional seeds.</li>
  *     <li>Delete world sets for speedrunners and clean up resources.</li>
  *     <li>Link and unlink worlds for proper portal traversal.</li>
- *     <li>Ensure unique world names to prevent collisions.</li>
+ *     <li>Ensure unique world names to prevent collisions, via the {@link WorldNameAllocator}.</li>
+ *     <li>Keep a warm {@link WorldPool} of pre-generated world sets.</li>
+ *     <li>Reuse cached spawn terrain of known seeds via the {@link WorldTemplateCache}.</li>
+ *     <li>Optionally create the nether and end lazily, on first portal use.</li>
+ *     <li>Optionally store world folders under an alternate root, such as tmpfs, via the {@link WorldStorage}.</li>
  * </ul>
  */
 public class WorldManager {
 
+    private final Logger logger = Bukkit.getLogger();
     private final ConfigHandler configHandler = ConfigHandler.getInstance();
     private final SpeedRunPlus plugin;
 
     private final MVWorldManager mvWorldManager;
     private final MultiverseNetherPortals portalManager;
     private final SeedManager seedManager;
+    private final WorldTemplateCache templateCache;
+    private final WorldNameAllocator nameAllocator = new WorldNameAllocator();
+    @Getter private final WorldStorage worldStorage = new WorldStorage();
+    @Getter private final WorldDeletionQueue deletionQueue;
+    @Getter private final WorldPool worldPool;
+    @Getter private final ChunkPrewarmer chunkPrewarmer;
+    @Getter private final WorldCreationScheduler creationScheduler;
+    @Getter private final WorldMetrics metrics;
+    @Getter private final ResourceGovernor resourceGovernor;
+
+    // Whether leftover worlds of previous sessions are still being reclaimed
+    private volatile boolean reclaiming;
+
+    // Number of world creations currently in flight
+    private final AtomicInteger pendingCreations = new AtomicInteger(0);
 
     /**
      * Represents a player's set of worlds: Overworld, Nether, End.
      * Provides the spawn location for teleportation purposes.
+     *
+     * <p>With lazy dimensions enabled, the nether and end are {@code null} until they are first entered
+     * through a portal, see {@link #ensureDimension(WorldSet, WorldDimension)}.</p>
      */
     @Getter
     public static class WorldSet {
+        private final String id;
         private final MultiverseWorld overworld;
-        private final MultiverseWorld nether;
-        private final MultiverseWorld end;
+        private MultiverseWorld nether;
+        private MultiverseWorld end;
         private final Location spawn;
 
+        // Lazily created dimensions currently being generated
+        @Getter(AccessLevel.NONE)
+        private final Set<WorldDimension> pendingDimensions = EnumSet.noneOf(WorldDimension.class);
+        @Getter(AccessLevel.NONE)
+        private boolean deleted;
+
         /**
          * Constructs a set of worlds with a default spawn point.
          *
+         * @param id The unique identifier used in the world names of the set.
          * @param overworld The {@code MultiverseWorld} overworld.
-         * @param nether The {@code MultiverseWorld} nether.
-         * @param end The {@code MultiverseWorld} end.
+         * @param nether The {@code MultiverseWorld} nether, or {@code null} if not yet created.
+         * @param end The {@code MultiverseWorld} end, or {@code null} if not yet created.
          */
-        public WorldSet(MultiverseWorld overworld, MultiverseWorld nether, MultiverseWorld end) {
+        public WorldSet(String id, MultiverseWorld overworld, MultiverseWorld nether, MultiverseWorld end) {
+            this.id = id;
             this.overworld = overworld;
             this.nether = nether;
             this.end = end;
             this.spawn = overworld.getSpawnLocation();
         }
+
+        /**
+         * Returns the world of the given dimension.
+         *
+         * @param dimension The dimension.
+         * @return The {@code MultiverseWorld}, or {@code null} if the dimension has not been created yet.
+         */
+        public MultiverseWorld getWorld(WorldDimension dimension) {
+            switch (dimension) {
+                case NETHER:
+                    return nether;
+                case END:
+                    return end;
+                default:
+                    return overworld;
+            }
+        }
+
+        /**
+         * Returns the created worlds of this set, by dimension.
+         *
+         * @return The worlds of the set, excluding dimensions that have not been created yet.
+         */
+        public Map<WorldDimension, MultiverseWorld> getWorlds() {
+            Map<WorldDimension, MultiverseWorld> worlds = new EnumMap<>(WorldDimension.class);
+            for (WorldDimension dimension : WorldDimension.values()) {
+                MultiverseWorld world = getWorld(dimension);
+                if (world != null) worlds.put(dimension, world);
+            }
+            return worlds;
+        }
+
+        /**
+         * Checks whether a world belongs to this set.
+         *
+         * @param worldName The name of the world.
+         * @return {@code true} if one of the created worlds of this set has the given name.
+         */
+        public boolean contains(String worldName) {
+            return getWorlds().values().stream().anyMatch(world -> world.getName().equals(worldName));
+        }
+
+        private void setWorld(WorldDimension dimension, MultiverseWorld world) {
+            if (dimension == WorldDimension.NETHER) nether = world;
+            if (dimension == WorldDimension.END) end = world;
+        }
     }
 
     /**
-     * Constructs the world manager and removes leftover SRP worlds from previous sessions.
+     * Constructs the world manager and starts reclaiming leftover SRP worlds from previous sessions.
      *
      * @param plugin The main plugin instance.
      */
@@ -85,8 +184,70 @@ public class WorldManager {
         // Seed manager
         this.seedManager = seedManager;
 
-        // Cleanup leftover worlds
-        cleanupLeftoverSrpWorlds();
+        // Latency and tick-impact metrics
+        this.metrics = new WorldMetrics(plugin, this::isPhaseActive);
+
+        // Spreads world creation across ticks
+        this.creationScheduler = new WorldCreationScheduler(plugin, metrics);
+
+        // Background deletion of unloaded world folders
+        this.deletionQueue = new WorldDeletionQueue(plugin, metrics);
+
+        // Reclaim leftover worlds in the background
+        reclaimLeftoverSrpWorlds();
+
+        // Cache of generated spawn terrain per seed
+        this.templateCache = new WorldTemplateCache(plugin);
+
+        // Warm pool of ready world sets
+        this.worldPool = new WorldPool(
+                plugin,
+                callback -> createWorldSet(
+                        UUID.randomUUID().toString(),
+                        toSeedString(seedManager.selectSeed()),
+                        WorldCreationScheduler.Priority.BACKGROUND,
+                        callback::accept
+                ),
+                () -> pendingCreations.get() == 0
+        );
+        worldPool.start();
+
+        // Pre-warming of spawn chunks during countdowns
+        this.chunkPrewarmer = new ChunkPrewarmer(plugin);
+
+        metrics.start();
+
+        // Admission of new runs within the resource budgets
+        this.resourceGovernor = new ResourceGovernor(plugin);
+        resourceGovernor.start();
+    }
+
+    /**
+     * Stops background work of the world manager, such as refilling the world pool or pre-warming chunks, and
+     * drains (or persists) the queue of world folders awaiting deletion.
+     */
+    public void shutdown() {
+        worldPool.stop();
+        chunkPrewarmer.stop();
+        metrics.stop();
+        resourceGovernor.stop();
+        deletionQueue.shutdown();
+    }
+
+    /**
+     * Benchmarks the creation and deletion of world folders in the world container and the alternate storage
+     * root, off the main thread. The report ends with the latencies recorded on real worlds per storage location.
+     *
+     * @param iterations the number of folders to create and delete per storage location
+     * @param callback   receives the report lines on the main thread
+     */
+    public void benchmarkStorage(int iterations, Consumer<List<String>> callback) {
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            List<String> report = new ArrayList<>(worldStorage.benchmark(iterations));
+            report.add("Real worlds, by storage location:");
+            report.addAll(metrics.reportStorage());
+            Bukkit.getScheduler().runTask(plugin, () -> callback.accept(report));
+        });
     }
 
     /* ==========================================================
@@ -98,10 +259,13 @@ public class WorldManager {
      * @param players   The players who need worlds.
      * @param inputSeed Optional world seed.
      * @param callback  Callback executed when all worlds are ready. Receives a map
-     *                  linking each player's UUID to their WorldSet.
+     *                  linking each player's UUID to their WorldSet, or {@code null} if any world set could not be
+     *                  created, in which case the other world sets are deleted again.
      * <p><br>If the given seed is null and the config 'use-filtered-seeds' is set, a weighted pseudo-random filtered
      * seed (for speedrun purposes) will be selected.
      * If 'use-filtered-seeds' is not set, seed generation is left to be handled by Minecraft.</p>
+     * <p>Ready world sets from the {@link WorldPool} are handed out instantly when their seed matches; only the
+     * remaining world sets are generated.</p>
      */
     public void createWorldsForPlayers(
             Collection<Player> players,
@@ -110,74 +274,388 @@ public class WorldManager {
     ) {
         Map<UUID, WorldSet> sets = new ConcurrentHashMap<>();
         AtomicInteger done = new AtomicInteger(0);
+        AtomicInteger failed = new AtomicInteger(0);
         int total = players.size();
 
-        // Determine the seed
+        // Determine the seed, preferring a ready world set from the pool when no seed is given, while avoiding
+        // seeds the players have recently played
         Long seed = inputSeed;
-        if (inputSeed == null) seed = seedManager.selectSeed();
-        String seedString = seed != null ? String.valueOf(seed) : null;
+        List<UUID> playerIds = players.stream().map(Player::getUniqueId).collect(Collectors.toList());
+        Iterator<Player> remaining = players.iterator();
+        if (inputSeed == null && remaining.hasNext()) {
+            Optional<WorldSet> pooled = worldPool.poll(pooledSeed -> !seedManager.wasPlayed(playerIds, pooledSeed));
+            if (pooled.isPresent()) {
+                sets.put(remaining.next().getUniqueId(), pooled.get());
+                done.incrementAndGet();
+                seed = pooled.get().getOverworld().getSeed();
+            }
+            else {
+                seed = seedManager.selectSeed(playerIds);
+            }
+        }
+        seedManager.recordPlayed(playerIds, seed);
+        String seedString = toSeedString(seed);
+
+        // Hand out pooled world sets with the same seed instantly, create the rest
+        while (remaining.hasNext()) {
+            Player player = remaining.next();
+            Optional<WorldSet> pooled = seed != null ? worldPool.poll(seed) : Optional.empty();
+            if (pooled.isPresent()) {
+                sets.put(player.getUniqueId(), pooled.get());
+                done.incrementAndGet();
+                continue;
+            }
 
-        for (Player player : players) {
-            Bukkit.getScheduler().runTask(plugin, () -> {
-                WorldSet set = createWorldSet(player, seedString);
+            // World creation is spread across ticks, players earlier in the collection are served first
+            pendingCreations.incrementAndGet();
+            String id = player.getUniqueId().toString();
+            createWorldSet(id, seedString, WorldCreationScheduler.Priority.PLAYER, set -> {
+                pendingCreations.decrementAndGet();
+                if (set != null) sets.put(player.getUniqueId(), set);
+                else failed.incrementAndGet();
+                if (done.incrementAndGet() != total) return;
+
+                // Without a world set for every player, the run cannot start
+                if (failed.get() > 0) {
+                    sets.values().forEach(this::deleteWorldSet);
+                    callback.accept(null);
+                    return;
+                }
+                callback.accept(sets);
+            });
+        }
 
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    sets.put(player.getUniqueId(), set);
+        // Every world set was served from the pool
+        if (done.get() == total) {
+            Bukkit.getScheduler().runTask(plugin, () -> callback.accept(sets));
+        }
+    }
 
-                    if (done.incrementAndGet() == total) {
-                        callback.accept(sets);
-                    }
-                });
-            });
+    private void createWorldSet(
+            String id,
+            String seed,
+            WorldCreationScheduler.Priority priority,
+            Consumer<WorldSet> callback
+    ) {
+        long start = System.nanoTime();
+
+        // Determine the dimensions to create up front, and their world names
+        Map<WorldDimension, String> worldNames = new EnumMap<>(WorldDimension.class);
+        for (WorldDimension dimension : WorldDimension.values()) {
+            if (configHandler.isWorldLazyDimensions() && dimension != WorldDimension.OVERWORLD) continue;
+            worldNames.put(dimension, getWorldName(dimension, id));
         }
+
+        // On failure, discard the worlds created so far, and pass no world set
+        Map<WorldDimension, MultiverseWorld> worlds = new EnumMap<>(WorldDimension.class);
+        long request = creationScheduler.newRequest(() -> {
+            discardWorlds(worldNames, worlds);
+            callback.accept(null);
+        });
+
+        prepareWorldFolders(seed, worldNames, templated -> generateWorldSet(
+                id, worldNames, worlds, seed, templated, request, priority, worldSet -> {
+                    metrics.record(WorldMetrics.Operation.CREATE_WORLD_SET, null, System.nanoTime() - start);
+                    callback.accept(worldSet);
+                }
+        ));
     }
 
-    private WorldSet createWorldSet(Player player, String seed) {
-        // Determine world names
-        UUID uuid = player.getUniqueId();
-        String overworldName = getWorldName(configHandler.getOverworldPrefix() + uuid);
-        String netherName = getWorldName(configHandler.getNetherPrefix() + uuid);
-        String endName = getWorldName(configHandler.getEndPrefix() + uuid);
+    private void prepareWorldFolders(
+            String seed,
+            Map<WorldDimension, String> worldNames,
+            Consumer<Set<WorldDimension>> callback
+    ) {
+        // Place the world folders under the alternate storage root, if configured
+        worldNames.values().forEach(name -> {
+            try {
+                worldStorage.prepare(name);
+            } catch (IOException e) {
+                logger.warning("[SRP] Failed to prepare world storage for " + name + ", using the world container: "
+                        + e.getMessage());
+            }
+        });
 
-        // Overworld
-        mvWorldManager.addWorld(
-                overworldName,
-                World.Environment.NORMAL,
-                seed,
-                WorldType.NORMAL,
-                true,
-                null
+        // Generate the worlds from scratch, unless the spawn terrain of the seed is cached
+        if (!templateCache.acquire(seed)) {
+            callback.accept(Set.of());
+            return;
+        }
+
+        // Copy the cached spawn terrain into the world folders off the main thread, then load the worlds
+        File container = Bukkit.getWorldContainer();
+        Map<WorldDimension, File> worldFolders = new EnumMap<>(WorldDimension.class);
+        worldNames.forEach((dimension, name) -> worldFolders.put(dimension, new File(container, name)));
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            Set<WorldDimension> templated = Set.of();
+            try {
+                templated = templateCache.copyInto(seed, worldFolders);
+            } catch (IOException e) {
+                logger.warning("[SRP] Failed to copy world template, generating from scratch: " + e.getMessage());
+            } finally {
+                templateCache.release(seed);
+            }
+
+            Set<WorldDimension> copied = templated;
+            Bukkit.getScheduler().runTask(plugin, () -> callback.accept(copied));
+        });
+    }
+
+    private void generateWorldSet(
+            String id,
+            Map<WorldDimension, String> worldNames,
+            Map<WorldDimension, MultiverseWorld> worlds,
+            String seed,
+            Set<WorldDimension> templated,
+            long request,
+            WorldCreationScheduler.Priority priority,
+            Consumer<WorldSet> callback
+    ) {
+        // Load the overworld, plus the nether and end unless they are created lazily, one dimension per step
+        String overworldName = worldNames.get(WorldDimension.OVERWORLD);
+        worldNames.forEach((dimension, name) -> creationScheduler.submit(request, priority, dimension.name(), () -> {
+            String respawnWorld = dimension != WorldDimension.OVERWORLD ? overworldName : null;
+            MultiverseWorld world = addDimension(name, dimension, seed, respawnWorld);
+            if (world == null) {
+                creationScheduler.fail(request, "could not create world " + name);
+                return;
+            }
+            worlds.put(dimension, world);
+        }));
+
+        // Cache the freshly generated spawn terrain for later world sets with the same seed, then link the worlds
+        creationScheduler.submit(request, priority, "SNAPSHOT", () -> snapshotWorlds(
+                seed, worlds, templated, request, priority,
+                () -> linkWorldSet(id, worlds, request, callback)
+        ));
+    }
+
+    private void linkWorldSet(
+            String id,
+            Map<WorldDimension, MultiverseWorld> worlds,
+            long request,
+            Consumer<WorldSet> callback
+    ) {
+        String overworldName = worlds.get(WorldDimension.OVERWORLD).getName();
+        WorldSet worldSet = new WorldSet(
+                id,
+                worlds.get(WorldDimension.OVERWORLD),
+                worlds.get(WorldDimension.NETHER),
+                worlds.get(WorldDimension.END)
         );
-        MultiverseWorld overworld = mvWorldManager.getMVWorld(overworldName);
 
-        // Nether
+        // Link the worlds
+        worldSet.getWorlds().forEach((dimension, world) -> {
+            if (dimension != WorldDimension.OVERWORLD) linkDimension(overworldName, world.getName(), dimension);
+        });
+
+        creationScheduler.finish(request);
+        callback.accept(worldSet);
+    }
+
+    private void discardWorlds(Map<WorldDimension, String> worldNames, Map<WorldDimension, MultiverseWorld> worlds) {
+        worldNames.forEach((dimension, name) -> {
+            MultiverseWorld world = worlds.get(dimension);
+            if (world != null) {
+                File folder = unloadWorld(world);
+                if (folder != null) deletionQueue.enqueue(folder);
+                return;
+            }
+
+            // Not loaded, but possibly known to Multiverse or created on disk
+            mvWorldManager.removeWorldFromConfig(name);
+            File folder = new File(Bukkit.getWorldContainer(), name);
+            if (folder.exists() || Files.isSymbolicLink(folder.toPath())) deletionQueue.enqueue(folder);
+        });
+    }
+
+    /**
+     * Snapshots the generated worlds whose dimension the template of the seed does not hold yet, once they are
+     * generated for the second time. The worlds are unloaded with saving, such that their region files are complete
+     * before they are copied off the main thread, and loaded again afterwards. The loaded worlds replace the unloaded
+     * ones in the given map.
+     */
+    private void snapshotWorlds(
+            String seed,
+            Map<WorldDimension, MultiverseWorld> worlds,
+            Set<WorldDimension> templated,
+            long request,
+            WorldCreationScheduler.Priority priority,
+            Runnable then
+    ) {
+        Set<WorldDimension> generated = EnumSet.noneOf(WorldDimension.class);
+        worlds.forEach((dimension, world) -> {
+            if (world != null && !templated.contains(dimension)) generated.add(dimension);
+        });
+        Set<WorldDimension> dimensions = templateCache.beginSnapshot(seed, generated);
+        if (dimensions.isEmpty()) {
+            then.run();
+            return;
+        }
+
+        Map<WorldDimension, File> worldFolders = new EnumMap<>(WorldDimension.class);
+        for (WorldDimension dimension : dimensions) {
+            MultiverseWorld world = worlds.get(dimension);
+            World cbWorld = world.getCBWorld();
+            mvWorldManager.unloadWorld(world.getName(), false);
+            if (Bukkit.unloadWorld(cbWorld, true)) worldFolders.put(dimension, cbWorld.getWorldFolder());
+        }
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            templateCache.snapshot(seed, worldFolders);
+            if (!plugin.isEnabled()) return;
+
+            Bukkit.getScheduler().runTask(plugin, () -> creationScheduler.submit(request, priority, "RELOAD", () -> {
+                for (WorldDimension dimension : dimensions) {
+                    MultiverseWorld world = reloadWorld(worlds.get(dimension), dimension);
+                    worlds.put(dimension, world);
+                    if (world == null) {
+                        creationScheduler.fail(request, "could not load world " + dimension.name() + " again");
+                        return;
+                    }
+                }
+                then.run();
+            }));
+        });
+    }
+
+    private MultiverseWorld reloadWorld(MultiverseWorld unloaded, WorldDimension dimension) {
+        long start = System.nanoTime();
+        String name = unloaded.getName();
+        mvWorldManager.loadWorld(name);
+        MultiverseWorld world = mvWorldManager.getMVWorld(name);
+        if (world != null) worldStorage.configure(world.getCBWorld());
+
+        long elapsed = System.nanoTime() - start;
+        metrics.record(WorldMetrics.Operation.LOAD_WORLD, dimension, elapsed);
+        if (world != null) recordStorage(WorldMetrics.Operation.LOAD_WORLD, name, elapsed);
+        return world;
+    }
+
+    private MultiverseWorld addDimension(String name, WorldDimension dimension, String seed, String respawnWorld) {
+        long start = System.nanoTime();
         mvWorldManager.addWorld(
-                netherName,
-                World.Environment.NETHER,
+                name,
+                dimension.getEnvironment(),
                 seed,
                 WorldType.NORMAL,
                 true,
                 null
         );
-        MultiverseWorld nether = mvWorldManager.getMVWorld(netherName);
-        nether.setRespawnToWorld(overworldName);
+        MultiverseWorld world = mvWorldManager.getMVWorld(name);
+        if (world == null) {
+            logger.warning("[SRP] Failed to create world: " + name);
+            return null;
+        }
 
-        // End
-        mvWorldManager.addWorld(
-                endName,
-                World.Environment.THE_END,
-                seed,
-                WorldType.NORMAL,
-                true,
-                null
+        if (respawnWorld != null) world.setRespawnToWorld(respawnWorld);
+        worldStorage.configure(world.getCBWorld());
+
+        long elapsed = System.nanoTime() - start;
+        metrics.record(WorldMetrics.Operation.LOAD_WORLD, dimension, elapsed);
+        recordStorage(WorldMetrics.Operation.LOAD_WORLD, name, elapsed);
+        return world;
+    }
+
+    /* ==========================================================
+     *                 LAZY DIMENSION CREATION
+     * ========================================================== */
+    /**
+     * Ensures that a dimension of a world set exists, creating it in the background if it does not.
+     *
+     * <p>With lazy dimensions enabled, the nether and end of a world set are only generated once a speedrunner
+     * first uses a portal into them. Once generated, the dimension is linked to the overworld through
+     * Multiverse-NetherPortals, such that the next portal event leads into it.</p>
+     *
+     * @param worldSet  The world set.
+     * @param dimension The dimension to ensure.
+     * @return {@code true} if the dimension is ready, {@code false} if it is being created.
+     */
+    public boolean ensureDimension(WorldSet worldSet, WorldDimension dimension) {
+        if (worldSet.getWorld(dimension) != null) return true;
+        if (worldSet.deleted || !worldSet.pendingDimensions.add(dimension)) return false;
+
+        // The dimension shares the seed of the overworld, which may have been chosen by Minecraft
+        String seed = String.valueOf(worldSet.getOverworld().getSeed());
+        String overworldName = worldSet.getOverworld().getName();
+        String name = getWorldName(dimension, worldSet.getId());
+
+        // On failure, discard the dimension, such that the next portal use tries again
+        Map<WorldDimension, MultiverseWorld> worlds = new EnumMap<>(WorldDimension.class);
+        long request = creationScheduler.newRequest(() -> {
+            pendingCreations.decrementAndGet();
+            worldSet.pendingDimensions.remove(dimension);
+            discardWorlds(Map.of(dimension, name), worlds);
+
+            World overworld = worldSet.getOverworld().getCBWorld();
+            String message = ChatColor.RED + "Failed to generate the " + dimension.name().toLowerCase()
+                    + ", use the portal to try again!";
+            if (overworld != null) overworld.getPlayers().forEach(player -> player.sendMessage(message));
+        });
+        WorldCreationScheduler.Priority priority = WorldCreationScheduler.Priority.PLAYER;
+        Consumer<Set<WorldDimension>> createDimension = templated -> creationScheduler.submit(
+                request, priority, dimension.name(), () -> {
+                    MultiverseWorld world = addDimension(name, dimension, seed, overworldName);
+                    if (world == null) {
+                        creationScheduler.fail(request, "could not create world " + name);
+                        return;
+                    }
+                    worlds.put(dimension, world);
+                    snapshotWorlds(seed, worlds, templated, request, priority, () -> {
+                        creationScheduler.finish(request);
+                        addLazyDimension(worldSet, dimension, worlds.get(dimension));
+                    });
+                }
         );
-        MultiverseWorld end = mvWorldManager.getMVWorld(endName);
-        end.setRespawnToWorld(overworldName);
 
-        // Link the three world
-        linkWorlds(overworldName, netherName, endName);
+        // A player is waiting in the portal
+        pendingCreations.incrementAndGet();
+        prepareWorldFolders(seed, Map.of(dimension, name), createDimension);
+        return false;
+    }
+
+    private void addLazyDimension(WorldSet worldSet, WorldDimension dimension, MultiverseWorld world) {
+        pendingCreations.decrementAndGet();
+        worldSet.pendingDimensions.remove(dimension);
+        String overworldName = worldSet.getOverworld().getName();
 
-        return new WorldSet(overworld, nether, end);
+        // The world set was deleted while the dimension was being created
+        if (worldSet.deleted) {
+            File folder = unloadWorld(world);
+            if (folder != null) deletionQueue.enqueue(folder);
+            return;
+        }
+
+        worldSet.setWorld(dimension, world);
+        linkDimension(overworldName, world.getName(), dimension);
+    }
+
+    /**
+     * Checks whether a portal in the given world leads into a speedrun dimension which has not been created yet.
+     *
+     * @param world     The world the portal is in.
+     * @param dimension The dimension the portal leads into.
+     * @return {@code true} if the world is a speedrun overworld without a link to the given dimension.
+     */
+    public boolean isMissingDimension(World world, WorldDimension dimension) {
+        if (dimension == WorldDimension.OVERWORLD) return false;
+
+        String name = world.getName();
+        return name.startsWith(configHandler.getOverworldPrefix())
+                && portalManager.getWorldLink(name, dimension.getPortalType()) == null;
+    }
+
+    /**
+     * Teleports a player to the spawn of a world set.
+     *
+     * @param player   The player to teleport.
+     * @param worldSet The world set.
+     */
+    public void teleportToSpawn(Player player, WorldSet worldSet) {
+        long start = System.nanoTime();
+        player.teleport(worldSet.getSpawn());
+        metrics.record(WorldMetrics.Operation.TELEPORT_TO_SPAWN, null, System.nanoTime() - start);
     }
 
     /* ==========================================================
@@ -187,14 +665,15 @@ public class WorldManager {
      * Deletes the world sets for multiple speedrunners.
      *
      * @param speedrunners The speedrunners whose worlds are to be deleted.
-     * @param callback     Callback invoked after all worlds are deleted.
+     * @param callback     Callback invoked after all worlds are unloaded, while their folders are deleted
+     *                     in the background.
      */
     public void deleteWorldsForPlayers(Collection<Speedrunner> speedrunners, Runnable callback) {
         AtomicInteger done = new AtomicInteger(0);
         int total = speedrunners.size();
 
         speedrunners.forEach(speedrunner -> Bukkit.getScheduler().runTask(plugin, () -> {
-            deleteWorldSet(speedrunner);
+            deleteWorldSet(speedrunner.getWorldSet());
 
             Bukkit.getScheduler().runTask(plugin, () -> {
                 if (done.incrementAndGet() == total) {
@@ -204,67 +683,197 @@ public class WorldManager {
         }));
     }
 
-    private void deleteWorldSet(Speedrunner speedrunner) {
-        // Get the player's worlds
-        WorldSet worldSet = speedrunner.getWorldSet();
+    private void deleteWorldSet(WorldSet worldSet) {
+        if (worldSet == null) return; // The run was aborted before its worlds were created
+        if (worldSet.deleted) return; // Shared by coop partners
+
+        // Lazily created dimensions still in progress are discarded once ready, as the world set is marked deleted
+        worldSet.deleted = true;
+        long start = System.nanoTime();
 
-        // Get world names
-        String overworldName = worldSet.overworld.getName();
-        String netherName =worldSet.nether.getName();
-        String endName = worldSet.end.getName();
+        // Remove the world links
+        Map<WorldDimension, String> worldNames = new EnumMap<>(WorldDimension.class);
+        worldSet.getWorlds().forEach((dimension, world) -> worldNames.put(dimension, world.getName()));
+        unlinkWorlds(worldNames);
 
-        // Remove world links
-        unlinkWorlds(overworldName, netherName, endName);
+        // Unload the worlds on the main thread, then delete their folders in the background
+        worldSet.getWorlds().values().forEach(world -> {
+            File folder = unloadWorld(world);
+            if (folder != null) deletionQueue.enqueue(folder);
+        });
 
-        mvWorldManager.deleteWorld(overworldName);
-        mvWorldManager.deleteWorld(netherName);
-        mvWorldManager.deleteWorld(endName);
+        metrics.record(WorldMetrics.Operation.DELETE_WORLD_SET, null, System.nanoTime() - start);
     }
 
-    private void cleanupLeftoverSrpWorlds() {
-        String owPrefix = configHandler.getOverworldPrefix();
-        String netherPrefix = configHandler.getNetherPrefix();
-        String endPrefix = configHandler.getEndPrefix();
+    private File unloadWorld(MultiverseWorld mvWorld) {
+        long start = System.nanoTime();
+        String name = mvWorld.getName();
+        World world = mvWorld.getCBWorld();
+        File worldFolder = world != null ? world.getWorldFolder() : new File(Bukkit.getWorldContainer(), name);
+
+        if (world != null) {
+            // Move any remaining players out of the world
+            World fallback = configHandler.getMainOverworld() != null
+                    ? configHandler.getMainOverworld()
+                    : Bukkit.getWorlds().get(0);
+            world.getPlayers().forEach(player -> player.teleport(fallback.getSpawnLocation()));
+
+            // Unload without saving, the world is about to be deleted
+            mvWorldManager.unloadWorld(name, false);
+            if (!Bukkit.unloadWorld(world, false)) {
+                logger.warning("[SRP] Failed to unload world: " + name);
+                return null;
+            }
+        }
+        mvWorldManager.removeWorldFromConfig(name);
+
+        WorldDimension dimension = WorldDimension.of(mvWorld.getEnvironment());
+        long elapsed = System.nanoTime() - start;
+        metrics.record(WorldMetrics.Operation.UNLOAD_WORLD, dimension, elapsed);
+        recordStorage(WorldMetrics.Operation.UNLOAD_WORLD, name, elapsed);
+        return worldFolder;
+    }
 
+    /* ==========================================================
+     *                 LEFTOVER WORLD RECLAMATION
+     * ========================================================== */
+    private void reclaimLeftoverSrpWorlds() {
+        // Leftover worlds known to Multiverse, loaded or not
+        Deque<String> leftoverWorlds = new ArrayDeque<>();
         mvWorldManager.getMVWorlds().forEach(world -> {
-            String name = world.getName();
+            if (isSrpWorldName(world.getName())) leftoverWorlds.add(world.getName());
+        });
+        mvWorldManager.getUnloadedWorlds().forEach(name -> {
+            if (isSrpWorldName(name)) leftoverWorlds.add(name);
+        });
+        leftoverWorlds.forEach(this::reconcileWorldName);
 
-            if (name.startsWith(owPrefix) ||
-                    name.startsWith(netherPrefix) ||
-                    name.startsWith(endPrefix)) {
+        // Orphaned world folders, which Multiverse no longer knows about, are deleted right away
+        File[] folders = Bukkit.getWorldContainer().listFiles(file -> file.isDirectory()
+                || Files.isSymbolicLink(file.toPath()));
+        int orphans = 0;
+        for (File folder : folders != null ? folders : new File[0]) {
+            String name = folder.getName();
+            if (!isSrpWorldName(name) || leftoverWorlds.contains(name) || Bukkit.getWorld(name) != null) continue;
 
-                Bukkit.getLogger().info("[SRP] Removing leftover world: " + name);
-                mvWorldManager.deleteWorld(name);
+            reconcileWorldName(name);
+
+            deletionQueue.enqueue(folder);
+            orphans++;
+        }
+        for (File folder : worldStorage.findOrphanedFolders(this::isSrpWorldName)) {
+            reconcileWorldName(folder.getName());
+            deletionQueue.enqueue(folder);
+            orphans++;
+        }
+
+        if (leftoverWorlds.isEmpty() && orphans == 0) return;
+        logger.info("[SRP] Reclaiming " + leftoverWorlds.size() + " leftover world(s) and "
+                + orphans + " orphaned world folder(s)");
+
+        // Unload the leftover worlds incrementally, within a time budget per tick
+        long budgetNanos = TimeUnit.MILLISECONDS.toNanos(configHandler.getWorldCleanupTickBudget());
+        reclaiming = true;
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                long deadline = System.nanoTime() + budgetNanos;
+                do {
+                    String name = leftoverWorlds.poll();
+                    if (name == null) {
+                        logger.info("[SRP] Finished reclaiming leftover worlds");
+                        reclaiming = false;
+                        cancel();
+                        return;
+                    }
+                    reclaimWorld(name);
+                } while (System.nanoTime() < deadline);
             }
-        });
+        }.runTaskTimer(plugin, 1L, 1L);
+    }
+
+    private void reclaimWorld(String name) {
+        MultiverseWorld world = mvWorldManager.getMVWorld(name);
+        if (world != null) {
+            File folder = unloadWorld(world);
+            if (folder != null) deletionQueue.enqueue(folder);
+            return;
+        }
+
+        // Known to Multiverse, but not loaded
+        mvWorldManager.removeWorldFromConfig(name);
+        deletionQueue.enqueue(new File(Bukkit.getWorldContainer(), name));
+    }
+
+    private void recordStorage(WorldMetrics.Operation operation, String worldName, long nanos) {
+        File folder = new File(Bukkit.getWorldContainer(), worldName);
+        metrics.recordStorage(operation, WorldStorage.locationOf(folder.toPath()), nanos);
+    }
+
+    private boolean isPhaseActive(WorldMetrics.Phase phase) {
+        switch (phase) {
+            case CREATION:
+                return pendingCreations.get() > 0 || creationScheduler.getQueuedSteps() > 0;
+            case DELETION:
+                return deletionQueue.getQueueDepth() > 0;
+            case RECLAMATION:
+                return reclaiming;
+            case PREWARM:
+                return chunkPrewarmer != null && chunkPrewarmer.isActive();
+            default:
+                return false;
+        }
+    }
+
+    private void reconcileWorldName(String name) {
+        // Leftover names are never allocated again
+        for (WorldDimension dimension : WorldDimension.values()) {
+            String prefix = getWorldPrefix(dimension);
+            if (name.startsWith(prefix)) nameAllocator.reconcile(prefix, name);
+        }
+    }
+
+    private boolean isSrpWorldName(String name) {
+        return name.startsWith(configHandler.getOverworldPrefix())
+                || name.startsWith(configHandler.getNetherPrefix())
+                || name.startsWith(configHandler.getEndPrefix());
     }
 
     /* ==========================================================
      *                       HELPERS
      * ========================================================== */
-    private void linkWorlds(String overworldName, String netherName, String endName) {
-        portalManager.addWorldLink(overworldName, netherName, PortalType.NETHER);
-        portalManager.addWorldLink(netherName, overworldName, PortalType.NETHER);
-        portalManager.addWorldLink(overworldName, endName, PortalType.ENDER);
-        portalManager.addWorldLink(endName, overworldName, PortalType.ENDER);
+    private void linkDimension(String overworldName, String worldName, WorldDimension dimension) {
+        long start = System.nanoTime();
+        portalManager.addWorldLink(overworldName, worldName, dimension.getPortalType());
+        portalManager.addWorldLink(worldName, overworldName, dimension.getPortalType());
+        metrics.record(WorldMetrics.Operation.LINK_WORLDS, dimension, System.nanoTime() - start);
+    }
+
+    private void unlinkWorlds(Map<WorldDimension, String> worldNames) {
+        String overworldName = worldNames.get(WorldDimension.OVERWORLD);
+        worldNames.forEach((dimension, name) -> {
+            if (dimension == WorldDimension.OVERWORLD) return;
+            portalManager.removeWorldLink(overworldName, name, dimension.getPortalType());
+            portalManager.removeWorldLink(name, overworldName, dimension.getPortalType());
+        });
     }
 
-    private void unlinkWorlds(String overworldName, String netherName, String endName) {
-        portalManager.removeWorldLink(overworldName, netherName, PortalType.NETHER);
-        portalManager.removeWorldLink(netherName, overworldName, PortalType.NETHER);
-        portalManager.removeWorldLink(overworldName, endName, PortalType.ENDER);
-        portalManager.removeWorldLink(endName, overworldName, PortalType.ENDER);
+    private String getWorldPrefix(WorldDimension dimension) {
+        switch (dimension) {
+            case NETHER:
+                return configHandler.getNetherPrefix();
+            case END:
+                return configHandler.getEndPrefix();
+            default:
+                return configHandler.getOverworldPrefix();
+        }
     }
 
-    private String getWorldName(String baseName) {
-        String name = baseName;
-        int accumulator = 1;
+    private String toSeedString(Long seed) {
+        return seed != null ? String.valueOf(seed) : null;
+    }
 
-        // Check Bukkit world registry – Multiverse loads worlds here
-        while (Bukkit.getWorld(name) != null) {
-            name = baseName + "_" + accumulator;
-            accumulator++;
-        }
-        return name;
+    private String getWorldName(WorldDimension dimension, String id) {
+        return nameAllocator.allocate(getWorldPrefix(dimension), id);
     }
 }
@@ -0,0 +1,246 @@
+package com.fx.srp.managers.util;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import com.fx.srp.SpeedRunPlus;
+import com.fx.srp.config.ConfigHandler;
+import com.fx.srp.model.world.WorldDimension;
+import com.fx.srp.util.metrics.LatencyHistogram;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Collects latency and tick-impact metrics of the speedrun world lifecycle.
+ *
+ * <p>Latencies are recorded in a {@link LatencyHistogram} per {@link Operation}, and per dimension for
+ * operations on a single world. The steps of the {@link WorldCreationScheduler} are recorded per step name, as
+ * {@code creation_step.<name>}. Operations bound by the storage device are recorded per storage location of the
+ * world folder as well, as {@code storage.<location>.<operation>}, such that the container and an alternate storage
+ * root can be compared on real worlds. In addition, every server tick that overruns its 50 ms budget is counted
+ * against each {@link Phase} of the world lifecycle that was active during the tick.</p>
+ *
+ * <p>The metrics are exposed through {@code /srp admin stats worlds}, and periodically dumped to the
+ * {@code /metrics} folder of the plugin.</p>
+ */
+public class WorldMetrics implements Listener {
+
+    private final Logger logger = Bukkit.getLogger();
+    private final ConfigHandler configHandler = ConfigHandler.getInstance();
+    private final SpeedRunPlus plugin;
+
+    private static final String METRICS_FOLDER = "metrics";
+    private static final String METRICS_FILE = "worlds.txt";
+    private static final double TICK_BUDGET_MS = 50.0;
+
+    /**
+     * An instrumented world lifecycle operation.
+     */
+    public enum Operation {
+        CREATE_WORLD_SET,
+        LOAD_WORLD,
+        LINK_WORLDS,
+        TELEPORT_TO_SPAWN,
+        DELETE_WORLD_SET,
+        UNLOAD_WORLD,
+        DELETE_WORLD_FOLDER
+    }
+
+    /**
+     * A phase of the world lifecycle during which ticks are monitored.
+     */
+    public enum Phase {
+        CREATION,
+        DELETION,
+        RECLAMATION,
+        PREWARM
+    }
+
+    private final Predicate<Phase> activePhase;
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+    private final Map<Phase, AtomicLong> phaseTicks = new EnumMap<>(Phase.class);
+    private final Map<Phase, AtomicLong> phaseOverruns = new EnumMap<>(Phase.class);
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong overruns = new AtomicLong();
+
+    private BukkitTask dumpTask;
+
+    /**
+     * Constructs the world metrics.
+     *
+     * @param plugin      the main plugin instance, used for scheduling and locating the plugin data folder
+     * @param activePhase whether a phase of the world lifecycle is currently active
+     */
+    public WorldMetrics(SpeedRunPlus plugin, Predicate<Phase> activePhase) {
+        this.plugin = plugin;
+        this.activePhase = activePhase;
+        for (Phase phase : Phase.values()) {
+            phaseTicks.put(phase, new AtomicLong());
+            phaseOverruns.put(phase, new AtomicLong());
+        }
+    }
+
+    /**
+     * Starts monitoring ticks and the periodic metrics dump.
+     */
+    public void start() {
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+
+        long interval = configHandler.getMetricsDumpInterval();
+        if (interval > 0) {
+            dumpTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::dump, interval, interval);
+        }
+    }
+
+    /**
+     * Stops monitoring ticks and writes a final metrics dump.
+     */
+    public void stop() {
+        HandlerList.unregisterAll(this);
+        if (dumpTask != null) {
+            dumpTask.cancel();
+            dumpTask = null;
+            dump();
+        }
+    }
+
+    /**
+     * Records the latency of an operation.
+     *
+     * @param operation the operation
+     * @param dimension the dimension the operation applied to, or {@code null} for world set wide operations
+     * @param nanos     the latency in nanoseconds
+     */
+    public void record(Operation operation, WorldDimension dimension, long nanos) {
+        histograms.computeIfAbsent(key(operation, dimension), key -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Records the latency of an operation on a world folder, by the storage location of the folder.
+     *
+     * @param operation the operation
+     * @param location  the storage location of the world folder, see {@link WorldStorage#locationOf}
+     * @param nanos     the latency in nanoseconds
+     */
+    public void recordStorage(Operation operation, String location, long nanos) {
+        String key = "storage." + location + "." + operation.name().toLowerCase(Locale.ROOT);
+        histograms.computeIfAbsent(key, name -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Records the latency of a world creation step.
+     *
+     * @param step  the name of the step, such as a dimension
+     * @param nanos the latency in nanoseconds
+     */
+    public void recordStep(String step, long nanos) {
+        String key = "creation_step." + step.toLowerCase(Locale.ROOT);
+        histograms.computeIfAbsent(key, name -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Builds a human-readable report of all metrics, one line per entry.
+     *
+     * @return the report lines
+     */
+    public List<String> report() {
+        List<String> lines = reportLatencies(key -> true);
+
+        lines.add("Tick overruns: " + overruns.get() + " of " + ticks.get() + " ticks");
+        for (Phase phase : Phase.values()) {
+            lines.add("  " + phase.name().toLowerCase(Locale.ROOT) + ": " + phaseOverruns.get(phase).get()
+                    + " of " + phaseTicks.get(phase).get() + " ticks");
+        }
+        return lines;
+    }
+
+    /**
+     * Builds a human-readable report of the latencies of operations on world folders, by storage location.
+     *
+     * @return the report lines
+     */
+    public List<String> reportStorage() {
+        return reportLatencies(key -> key.startsWith("storage."));
+    }
+
+    /**
+     * Counts the server tick, and whether it overran, against each active phase of the world lifecycle.
+     *
+     * @param event the tick end event
+     */
+    @EventHandler
+    public void onTickEnd(ServerTickEndEvent event) {
+        boolean overrun = event.getTickDuration() > TICK_BUDGET_MS;
+        ticks.incrementAndGet();
+        if (overrun) overruns.incrementAndGet();
+
+        for (Phase phase : Phase.values()) {
+            if (!activePhase.test(phase)) continue;
+            phaseTicks.get(phase).incrementAndGet();
+            if (overrun) phaseOverruns.get(phase).incrementAndGet();
+        }
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private String key(Operation operation, WorldDimension dimension) {
+        String name = operation.name().toLowerCase(Locale.ROOT);
+        return dimension == null ? name : name + "." + dimension.name().toLowerCase(Locale.ROOT);
+    }
+
+    private List<String> reportLatencies(Predicate<String> keys) {
+        List<String> lines = new ArrayList<>();
+        lines.add("Latencies (ms): count / mean / p50 / p90 / p99 / max");
+        histograms.forEach((key, histogram) -> {
+            if (!keys.test(key)) return;
+            lines.add(String.format(Locale.ROOT,
+                    "  %s: %d / %.1f / %.1f / %.1f / %.1f / %.1f",
+                    key,
+                    histogram.getCount(),
+                    histogram.getMean() / 1000.0,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getMax() / 1000.0
+            ));
+        });
+        if (lines.size() == 1) lines.add("  none recorded yet");
+        return lines;
+    }
+
+    private void dump() {
+        Path folder = new File(plugin.getDataFolder(), METRICS_FOLDER).toPath();
+        Path file = folder.resolve(METRICS_FILE);
+        Path temporary = folder.resolve(METRICS_FILE + ".tmp");
+
+        List<String> lines = new ArrayList<>();
+        lines.add("# SpeedRunPlus world metrics, since start-up, at " + Instant.now());
+        lines.addAll(report());
+        try {
+            Files.createDirectories(folder);
+            Files.write(temporary, lines, StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warning("[SRP] Failed to dump world metrics: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.fx.srp.managers.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allocates unique names for speedrun worlds.
+ *
+ * <p>Each world name consists of a prefix, an identifier (such as the player's UUID) and a suffix taken from a
+ * monotonically increasing counter per prefix, e.g. {@code srp-overworld-<uuid>_7}. Allocation is constant time
+ * and never consults the Bukkit world registry; instead, the counters are reconciled on start-up against the
+ * names of worlds left over from previous sessions.</p>
+ */
+public class WorldNameAllocator {
+
+    private static final char SEPARATOR = '_';
+
+    // Prefix -> next suffix
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Allocates a new, unique world name.
+     *
+     * @param prefix the world name prefix of the dimension
+     * @param id     the identifier of the world set
+     * @return the world name
+     */
+    public String allocate(String prefix, String id) {
+        long suffix = counters.computeIfAbsent(prefix, key -> new AtomicLong()).getAndIncrement();
+        return prefix + id + SEPARATOR + suffix;
+    }
+
+    /**
+     * Advances the counter of a prefix past the suffix of an existing world name, such that it is never
+     * allocated again.
+     *
+     * @param prefix the world name prefix of the dimension
+     * @param name   the name of an existing world or world folder with the given prefix
+     */
+    public void reconcile(String prefix, String name) {
+        int separator = name.lastIndexOf(SEPARATOR);
+        if (separator < prefix.length() || separator == name.length() - 1) return;
+
+        long suffix;
+        try {
+            suffix = Long.parseLong(name.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return; // Not an allocated name
+        }
+        counters.computeIfAbsent(prefix, key -> new AtomicLong()).accumulateAndGet(suffix + 1, Math::max);
+    }
+}
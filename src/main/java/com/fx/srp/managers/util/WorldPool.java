@@ -0,0 +1,168 @@
+package com.fx.srp.managers.util;
+
+import com.fx.srp.SpeedRunPlus;
+import com.fx.srp.config.ConfigHandler;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Keeps a warm pool of pre-generated {@link WorldManager.WorldSet}s that can be handed out instantly.
+ *
+ * <p>World sets in the pool are fully generated, linked and have their spawn chunks loaded. The pool is
+ * refilled by a repeating task which only generates a new world set while the server is idle, and only
+ * once the pool has dropped below its low-water mark; it then refills until the configured size is
+ * reached again.</p>
+ *
+ * <p>All methods must be called from the main server thread.</p>
+ */
+public class WorldPool {
+
+    private final Logger logger = Bukkit.getLogger();
+    private final ConfigHandler configHandler = ConfigHandler.getInstance();
+    private final SpeedRunPlus plugin;
+
+    private final Consumer<Consumer<WorldManager.WorldSet>> factory;
+    private final BooleanSupplier idle;
+    private final Deque<WorldManager.WorldSet> pool = new ArrayDeque<>();
+
+    // Statistics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private BukkitTask refillTask;
+    private boolean refilling;
+    private boolean generating;
+
+    /**
+     * Constructs a world pool.
+     *
+     * @param plugin  the main plugin instance, used for scheduling the refill task
+     * @param factory creates a new world set for the pool, passing it (or {@code null} on failure) to the given
+     *                callback once ready
+     * @param idle    whether the world manager is currently idle (no world creations in flight)
+     */
+    public WorldPool(
+            SpeedRunPlus plugin,
+            Consumer<Consumer<WorldManager.WorldSet>> factory,
+            BooleanSupplier idle
+    ) {
+        this.plugin = plugin;
+        this.factory = factory;
+        this.idle = idle;
+    }
+
+    /**
+     * Starts the repeating refill task, if the pool is enabled.
+     */
+    public void start() {
+        if (!configHandler.isWorldPoolEnabled() || refillTask != null) return;
+
+        long interval = configHandler.getWorldPoolRefillInterval();
+        refillTask = Bukkit.getScheduler().runTaskTimer(plugin, this::refill, interval, interval);
+    }
+
+    /**
+     * Stops the refill task. Pooled world sets are left in place, and are reclaimed as leftover
+     * worlds on the next start-up.
+     */
+    public void stop() {
+        if (refillTask != null) refillTask.cancel();
+        refillTask = null;
+    }
+
+    /**
+     * Takes a world set from the pool.
+     *
+     * @param seed the seed the world set must have, or {@code null} to accept any pooled world set
+     * @return an {@link Optional} containing the pooled world set, or empty on a pool miss
+     */
+    public Optional<WorldManager.WorldSet> poll(Long seed) {
+        return poll(pooledSeed -> seed == null || Objects.equals(seed, pooledSeed));
+    }
+
+    /**
+     * Takes the first world set from the pool whose seed is accepted.
+     *
+     * @param accept whether the seed of a pooled world set is accepted
+     * @return an {@link Optional} containing the pooled world set, or empty on a pool miss
+     */
+    public Optional<WorldManager.WorldSet> poll(Predicate<Long> accept) {
+        if (!configHandler.isWorldPoolEnabled()) return Optional.empty();
+
+        Iterator<WorldManager.WorldSet> iterator = pool.iterator();
+        while (iterator.hasNext()) {
+            WorldManager.WorldSet worldSet = iterator.next();
+            if (accept.test(worldSet.getOverworld().getSeed())) {
+                iterator.remove();
+                hits.incrementAndGet();
+                return Optional.of(worldSet);
+            }
+        }
+
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the number of ready world sets in the pool.
+     *
+     * @return the pool size
+     */
+    public int size() {
+        return pool.size();
+    }
+
+    /**
+     * Returns the number of requests served from the pool.
+     *
+     * @return the pool hit count
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of requests the pool could not serve.
+     *
+     * @return the pool miss count
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private void refill() {
+        int size = pool.size();
+
+        // Low-water mark policy: start refilling below the mark, keep going until the pool is full
+        if (!refilling && size < configHandler.getWorldPoolLowWaterMark()) refilling = true;
+        if (size >= configHandler.getWorldPoolSize()) refilling = false;
+        if (!refilling || generating) return;
+
+        // Only generate worlds during idle ticks
+        if (!idle.getAsBoolean() || Bukkit.getTPS()[0] < configHandler.getWorldPoolMinTps()) return;
+
+        generating = true;
+        factory.accept(worldSet -> {
+            generating = false;
+            if (worldSet == null) {
+                logger.warning("[SRP] Failed to generate a world set for the world pool!");
+                return;
+            }
+            pool.addLast(worldSet);
+        });
+    }
+}
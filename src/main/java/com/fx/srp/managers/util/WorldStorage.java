@@ -0,0 +1,221 @@
+package com.fx.srp.managers.util;
+
+import com.fx.srp.config.ConfigHandler;
+import com.fx.srp.util.metrics.LatencyHistogram;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Decides where the folders of speedrun worlds are stored, and how they are saved.
+ *
+ * <p>By default, speedrun worlds are stored in the world container of the server like any other world. When an
+ * alternate storage root is configured, such as a tmpfs mount, the folder of each speedrun world is created
+ * under that root instead, and linked into the world container through a symbolic link, such that Bukkit and
+ * Multiverse load the world as usual. As speedrun worlds are thrown away after the run, autosaving can be
+ * disabled for them.</p>
+ *
+ * <p>The {@link WorldMetrics} record the latencies of loading, unloading and deleting real worlds per storage
+ * location, which is what decides between the locations. The benchmark adds a synthetic comparison that does not
+ * need any runs to be played.</p>
+ */
+public class WorldStorage {
+
+    private final ConfigHandler configHandler = ConfigHandler.getInstance();
+
+    /**
+     * The storage location of world folders in the world container.
+     */
+    public static final String CONTAINER = "container";
+
+    /**
+     * The storage location of world folders linked into the world container from the alternate storage root.
+     */
+    public static final String STORAGE_ROOT = "storage-root";
+
+    private static final String BENCHMARK_FOLDER_PREFIX = "srp-storage-benchmark-";
+    private static final int BENCHMARK_REGION_FILES = 16;
+    private static final int BENCHMARK_REGION_SIZE = 1024 * 1024;
+
+    /**
+     * Returns the alternate storage root of speedrun worlds.
+     *
+     * @return the storage root, or {@code null} if speedrun worlds are stored in the world container
+     */
+    public Path getStorageRoot() {
+        String root = configHandler.getWorldStorageRoot();
+        return root == null || root.isBlank() ? null : Paths.get(root).toAbsolutePath();
+    }
+
+    /**
+     * Prepares the folder of a speedrun world before the world is created, linking it into the world container
+     * if an alternate storage root is configured.
+     *
+     * @param worldName the name of the world
+     * @throws IOException if the folder or link could not be created
+     */
+    public void prepare(String worldName) throws IOException {
+        Path root = getStorageRoot();
+        if (root == null) return;
+
+        Path target = root.resolve(worldName);
+        Path link = Bukkit.getWorldContainer().toPath().resolve(worldName);
+        Files.createDirectories(target);
+        if (!Files.exists(link, LinkOption.NOFOLLOW_LINKS)) Files.createSymbolicLink(link, target);
+    }
+
+    /**
+     * Returns the storage location of a world folder.
+     *
+     * @param worldFolder the folder of the world in the world container
+     * @return {@link #STORAGE_ROOT} if the folder is linked from the alternate storage root, {@link #CONTAINER}
+     *         otherwise
+     */
+    public static String locationOf(Path worldFolder) {
+        return Files.isSymbolicLink(worldFolder) ? STORAGE_ROOT : CONTAINER;
+    }
+
+    /**
+     * Applies the save settings of speedrun worlds to a freshly loaded world.
+     *
+     * @param world the speedrun world
+     */
+    public void configure(World world) {
+        if (world != null) world.setAutoSave(configHandler.isWorldAutosave());
+    }
+
+    /**
+     * Finds folders under the alternate storage root that are no longer linked into the world container,
+     * for instance after a crash.
+     *
+     * @param isSrpWorldName whether a folder name is the name of a speedrun world
+     * @return the orphaned folders, empty if no alternate storage root is configured
+     */
+    public List<File> findOrphanedFolders(Predicate<String> isSrpWorldName) {
+        Path root = getStorageRoot();
+        List<File> orphans = new ArrayList<>();
+        if (root == null || !Files.isDirectory(root)) return orphans;
+
+        Path container = Bukkit.getWorldContainer().toPath();
+        try (Stream<Path> folders = Files.list(root)) {
+            folders.filter(folder -> isSrpWorldName.test(folder.getFileName().toString()))
+                    .filter(folder -> !Files.exists(container.resolve(folder.getFileName().toString()),
+                            LinkOption.NOFOLLOW_LINKS))
+                    .forEach(folder -> orphans.add(folder.toFile()));
+        } catch (IOException e) {
+            Bukkit.getLogger().warning("[SRP] Failed to scan the world storage root: " + e.getMessage());
+        }
+        return orphans;
+    }
+
+    /**
+     * Benchmarks the creation and deletion of world folders in the world container and, if configured, the
+     * alternate storage root.
+     *
+     * <p>Each iteration writes (and forces to the storage device) a folder of region-sized files, as a world
+     * would, then deletes it again. Every benchmark works in a new temporary folder under each location, which is
+     * removed afterwards, such that concurrent benchmarks do not interfere. Performs blocking file I/O and must not
+     * be called from the main server thread.</p>
+     *
+     * @param iterations the number of folders to create and delete per storage location
+     * @return the report lines
+     */
+    public List<String> benchmark(int iterations) {
+        Map<String, Path> locations = new LinkedHashMap<>();
+        locations.put(CONTAINER, Bukkit.getWorldContainer().toPath().toAbsolutePath());
+        if (getStorageRoot() != null) locations.put(STORAGE_ROOT, getStorageRoot());
+
+        List<String> lines = new ArrayList<>();
+        lines.add("Folder of " + BENCHMARK_REGION_FILES + " x " + BENCHMARK_REGION_SIZE / 1024
+                + " KB, " + iterations + " iterations (ms): mean / p50 / p99 / max");
+        locations.forEach((name, root) -> {
+            LatencyHistogram create = new LatencyHistogram();
+            LatencyHistogram delete = new LatencyHistogram();
+            Path run = null;
+            try {
+                run = Files.createTempDirectory(Files.createDirectories(root), BENCHMARK_FOLDER_PREFIX);
+                for (int i = 0; i < iterations; i++) {
+                    Path folder = run.resolve("world-" + i);
+
+                    long start = System.nanoTime();
+                    writeFolder(folder);
+                    create.record(System.nanoTime() - start);
+
+                    start = System.nanoTime();
+                    deleteFolder(folder);
+                    delete.record(System.nanoTime() - start);
+                }
+                lines.add(format("  " + name + " create", create));
+                lines.add(format("  " + name + " delete", delete));
+            } catch (IOException e) {
+                lines.add("  " + name + ": failed, " + e.getMessage());
+            } finally {
+                if (run != null) deleteQuietly(run);
+            }
+        });
+        return lines;
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private void writeFolder(Path folder) throws IOException {
+        Path region = Files.createDirectories(folder.resolve("region"));
+        byte[] bytes = new byte[BENCHMARK_REGION_SIZE];
+        ThreadLocalRandom.current().nextBytes(bytes);
+
+        for (int i = 0; i < BENCHMARK_REGION_FILES; i++) {
+            Path file = region.resolve("r." + i + ".0.mca");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(ByteBuffer.wrap(bytes));
+                channel.force(true);
+            }
+        }
+    }
+
+    private void deleteFolder(Path folder) throws IOException {
+        try (Stream<Path> paths = Files.walk(folder)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private void deleteQuietly(Path folder) {
+        try {
+            if (Files.exists(folder)) deleteFolder(folder);
+        } catch (IOException e) {
+            Bukkit.getLogger().warning("[SRP] Failed to remove the storage benchmark folder " + folder + ": "
+                    + e.getMessage());
+        }
+    }
+
+    private String format(String label, LatencyHistogram histogram) {
+        return String.format(Locale.ROOT, "%s: %.1f / %.1f / %.1f / %.1f",
+                label,
+                histogram.getMean() / 1000.0,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMax() / 1000.0
+        );
+    }
+}
@@ -0,0 +1,328 @@
+package com.fx.srp.managers.util;
+
+import com.fx.srp.SpeedRunPlus;
+import com.fx.srp.config.ConfigHandler;
+import com.fx.srp.model.world.WorldDimension;
+import org.bukkit.Bukkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Caches snapshots of freshly generated speedrun worlds, keyed by their seed.
+ *
+ * <p>Once a dimension of a seed is generated for the second time, e.g. on a reset or when a filtered seed is drawn
+ * again, the region files generated for its spawn area are copied into the plugin's {@code /templates} folder.
+ * Seeds used only once are never snapshotted, as a snapshot costs unloading and loading the world again on the main
+ * thread. The worlds are unloaded before their region files are copied, such that all chunk writes have reached the
+ * disk. Later world sets with the same seed get these region files copied into their world folders before the
+ * worlds are loaded, such that the spawn terrain is read from disk instead of being generated again.</p>
+ *
+ * <p>Each dimension of a template is published on its own, as lazily created dimensions are generated long after
+ * the overworld of their seed. A template therefore holds the dimensions that have been snapshotted so far.</p>
+ *
+ * <p>Region files are copied rather than hard-linked, as Minecraft rewrites region files in place, which would
+ * otherwise corrupt the template. The total disk usage of the cache is bounded; the least recently used
+ * templates are evicted first.</p>
+ */
+public class WorldTemplateCache {
+
+    private final Logger logger = Bukkit.getLogger();
+    private final ConfigHandler configHandler = ConfigHandler.getInstance();
+    private final SpeedRunPlus plugin;
+
+    private static final String TEMPLATE_FOLDER = "templates";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int MAX_GENERATED_SEEDS = 1024;
+
+    private final Path templateRoot;
+
+    // Seed -> template size in bytes, in least- to most recently used order
+    private final LinkedHashMap<String, Long> templates = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<WorldDimension>> templateDimensions = new HashMap<>();
+    private final Map<String, Integer> templatesInUse = new HashMap<>();
+    private final Set<String> snapshotsInProgress = ConcurrentHashMap.newKeySet();
+    private long totalBytes;
+    private long evictions;
+
+    // Seed -> dimensions generated once without being snapshotted, in least- to most recently used order
+    private final Map<String, Set<WorldDimension>> generatedOnce = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Set<WorldDimension>> eldest) {
+            return size() > MAX_GENERATED_SEEDS;
+        }
+    };
+
+    /**
+     * Constructs the template cache and indexes templates persisted by previous sessions.
+     *
+     * @param plugin the main plugin instance, used to locate the plugin data folder and for scheduling
+     */
+    public WorldTemplateCache(SpeedRunPlus plugin) {
+        this.plugin = plugin;
+        this.templateRoot = new File(plugin.getDataFolder(), TEMPLATE_FOLDER).toPath();
+
+        if (configHandler.isWorldTemplatesEnabled()) loadTemplates();
+    }
+
+    /**
+     * Reserves the template of a seed for copying, preventing its eviction until {@link #release(String)}.
+     *
+     * @param seed the seed of the world set, may be {@code null}
+     * @return {@code true} if a template exists for the seed and was reserved
+     */
+    public synchronized boolean acquire(String seed) {
+        if (seed == null || !configHandler.isWorldTemplatesEnabled() || templates.get(seed) == null) return false;
+
+        templatesInUse.merge(seed, 1, Integer::sum);
+        return true;
+    }
+
+    /**
+     * Releases a template reserved by {@link #acquire(String)}.
+     *
+     * @param seed the seed of the template
+     */
+    public synchronized void release(String seed) {
+        templatesInUse.computeIfPresent(seed, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * Copies the region files of a reserved template into the world folders of a new world set.
+     *
+     * <p>Performs blocking file I/O and must not be called from the main server thread. If copying fails,
+     * the partially copied region files are removed again.</p>
+     *
+     * @param seed         the seed of the template, reserved by {@link #acquire(String)}
+     * @param worldFolders the world folder of each dimension
+     * @return the dimensions the template held, and which were copied
+     * @throws IOException if the template could not be copied
+     */
+    public Set<WorldDimension> copyInto(String seed, Map<WorldDimension, File> worldFolders) throws IOException {
+        Path template = templateRoot.resolve(seed);
+        Set<WorldDimension> copied = EnumSet.noneOf(WorldDimension.class);
+        for (Map.Entry<WorldDimension, File> entry : worldFolders.entrySet()) {
+            WorldDimension dimension = entry.getKey();
+            Path source = template.resolve(dimension.name());
+            if (!Files.isDirectory(source)) continue;
+
+            Path target = entry.getValue().toPath().resolve(dimension.getRegionFolder());
+            try {
+                copyDirectory(source, target, null);
+            } catch (IOException e) {
+                worldFolders.forEach((dim, folder) -> deleteDirectory(folder.toPath().resolve(dim.getRegionFolder())));
+                throw e;
+            }
+            copied.add(dimension);
+        }
+
+        // Persist the access time, such that the least recently used order survives restarts
+        Files.setLastModifiedTime(template, FileTime.fromMillis(System.currentTimeMillis()));
+        return copied;
+    }
+
+    /**
+     * Reserves the snapshot of the dimensions of a seed that its template does not hold yet, and that have been
+     * generated before. Dimensions generated for the first time are only remembered.
+     *
+     * <p>A reservation must be followed by {@link #snapshot(String, Map)}, also if the worlds could not be
+     * unloaded, such that the seed can be snapshotted again later.</p>
+     *
+     * @param seed       the seed of the freshly generated worlds, may be {@code null}
+     * @param dimensions the dimensions that were generated rather than copied from the template
+     * @return the dimensions to snapshot, empty if there are none or the seed is being snapshotted already
+     */
+    public synchronized Set<WorldDimension> beginSnapshot(String seed, Set<WorldDimension> dimensions) {
+        if (seed == null || !configHandler.isWorldTemplatesEnabled() || dimensions.isEmpty()) return Set.of();
+
+        Set<WorldDimension> missing = EnumSet.copyOf(dimensions);
+        missing.removeAll(templateDimensions.getOrDefault(seed, Set.of()));
+
+        // Only dimensions generated before are snapshotted, the others are snapshotted when generated again
+        Set<WorldDimension> generated = generatedOnce.computeIfAbsent(
+                seed, key -> EnumSet.noneOf(WorldDimension.class));
+        Set<WorldDimension> reused = EnumSet.copyOf(missing);
+        reused.retainAll(generated);
+        generated.addAll(missing);
+        if (reused.isEmpty() || !snapshotsInProgress.add(seed)) return Set.of();
+
+        generated.removeAll(reused);
+        if (generated.isEmpty()) generatedOnce.remove(seed);
+        return reused;
+    }
+
+    /**
+     * Snapshots the region files of freshly generated worlds of a seed into the cache, ending the reservation made
+     * by {@link #beginSnapshot(String, Set)}.
+     *
+     * <p>The worlds must have been unloaded with saving, such that their region files are complete and no longer
+     * written to. Performs blocking file I/O and must not be called from the main server thread.</p>
+     *
+     * @param seed         the seed of the worlds
+     * @param worldFolders the world folder of each reserved dimension that was unloaded, possibly empty
+     */
+    public void snapshot(String seed, Map<WorldDimension, File> worldFolders) {
+        try {
+            for (Map.Entry<WorldDimension, File> entry : worldFolders.entrySet()) {
+                long bytes = writeTemplate(seed, entry.getKey(), entry.getValue());
+                addTemplate(seed, entry.getKey(), bytes);
+            }
+        } catch (IOException e) {
+            logger.warning("[SRP] Failed to snapshot world template for seed " + seed + ": " + e.getMessage());
+        } finally {
+            snapshotsInProgress.remove(seed);
+        }
+    }
+
+    /**
+     * Returns the dimensions held by the template of a seed.
+     *
+     * @param seed the seed
+     * @return the snapshotted dimensions, empty if there is no template for the seed
+     */
+    public synchronized Set<WorldDimension> getDimensions(String seed) {
+        Set<WorldDimension> dimensions = templateDimensions.get(seed);
+        return dimensions != null ? EnumSet.copyOf(dimensions) : Set.of();
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private void loadTemplates() {
+        if (!Files.isDirectory(templateRoot)) return;
+
+        try (Stream<Path> folders = Files.list(templateRoot)) {
+            folders.filter(Files::isDirectory)
+                    .sorted(Comparator.comparingLong(this::lastModified))
+                    .forEach(folder -> {
+                        String name = folder.getFileName().toString();
+
+                        // Remove incomplete snapshots and evicted templates of previous sessions
+                        if (name.endsWith(TEMP_SUFFIX)) {
+                            deleteDirectory(folder);
+                            return;
+                        }
+                        for (WorldDimension dimension : WorldDimension.values()) {
+                            deleteDirectory(folder.resolve(dimension.name() + TEMP_SUFFIX));
+                            Path dimensionFolder = folder.resolve(dimension.name());
+                            if (Files.isDirectory(dimensionFolder)) {
+                                addTemplate(name, dimension, sizeOf(dimensionFolder));
+                            }
+                        }
+                    });
+        } catch (IOException e) {
+            logger.warning("[SRP] Failed to index world templates: " + e.getMessage());
+        }
+    }
+
+    private long writeTemplate(String seed, WorldDimension dimension, File worldFolder) throws IOException {
+        Path source = worldFolder.toPath().resolve(dimension.getRegionFolder());
+        if (!Files.isDirectory(source)) return 0L;
+
+        Path template = templateRoot.resolve(seed);
+        Path temporary = template.resolve(dimension.name() + TEMP_SUFFIX);
+        deleteDirectory(temporary);
+        Files.createDirectories(template);
+
+        AtomicLong bytes = new AtomicLong();
+        copyDirectory(source, temporary, bytes);
+
+        // Publish the complete dimension
+        Files.move(temporary, template.resolve(dimension.name()), StandardCopyOption.ATOMIC_MOVE);
+        return bytes.get();
+    }
+
+    private synchronized void addTemplate(String seed, WorldDimension dimension, long bytes) {
+        templates.merge(seed, bytes, Long::sum);
+        templateDimensions.computeIfAbsent(seed, key -> EnumSet.noneOf(WorldDimension.class)).add(dimension);
+        totalBytes += bytes;
+
+        // Evict the least recently used templates that are not being copied or snapshotted
+        Iterator<Map.Entry<String, Long>> iterator = templates.entrySet().iterator();
+        while (totalBytes > configHandler.getWorldTemplatesMaxBytes() && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            String evictedSeed = eldest.getKey();
+            if (evictedSeed.equals(seed) || templatesInUse.containsKey(evictedSeed)
+                    || snapshotsInProgress.contains(evictedSeed)) continue;
+
+            iterator.remove();
+            templateDimensions.remove(evictedSeed);
+            totalBytes -= eldest.getValue();
+            discardTemplate(evictedSeed);
+        }
+    }
+
+    private void discardTemplate(String seed) {
+        // Move the template out of the way at once, such that a new snapshot of the seed is not deleted with it
+        Path template = templateRoot.resolve(seed);
+        Path tombstone = templateRoot.resolve(seed + "-" + (++evictions) + TEMP_SUFFIX);
+        try {
+            Files.move(template, tombstone, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteDirectory(template);
+            return;
+        }
+
+        // Incomplete deletions are finished on the next start-up, like incomplete snapshots
+        if (plugin.isEnabled()) Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> deleteDirectory(tombstone));
+        else deleteDirectory(tombstone);
+    }
+
+    private void copyDirectory(Path source, Path target, AtomicLong bytes) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.copy(file, target.resolve(source.relativize(file).toString()),
+                        StandardCopyOption.REPLACE_EXISTING);
+                if (bytes != null) bytes.addAndGet(attrs.size());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void deleteDirectory(Path directory) {
+        if (!Files.exists(directory)) return;
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            logger.warning("[SRP] Failed to delete world template " + directory.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    private long sizeOf(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private long lastModified(Path path) {
+        return path.toFile().lastModified();
+    }
+}
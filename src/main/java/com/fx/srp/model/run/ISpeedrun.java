@@ -78,4 +78,16 @@ public interface ISpeedrun {
      * @param seed the seed as a {@code Long}, may be {@code null}
      */
     void setSeed(Long seed);
+
+    /**
+     * Returns the number of times the worlds of this run have been reset.
+     *
+     * @return the number of resets
+     */
+    int getResets();
+
+    /**
+     * Counts a reset of the worlds of this run.
+     */
+    void incrementResets();
 }
@@ -32,6 +32,8 @@ public abstract class Speedrun implements ISpeedrun {
 
     @Getter @Setter private Long seed;
 
+    @Getter private int resets;
+
     private final Speedrunner owner;
 
     @Getter @Setter protected BukkitTask timerUpdateTask;
@@ -62,6 +64,14 @@ public abstract class Speedrun implements ISpeedrun {
         return List.of(owner);
     }
 
+    /**
+     * Counts a reset of the worlds of this run, recorded with the outcome of the run.
+     */
+    @Override
+    public void incrementResets() {
+        resets++;
+    }
+
     /**
      * Called when a player leaves the server during this speedrun.
      * <p>
@@ -92,25 +102,14 @@ public abstract class Speedrun implements ISpeedrun {
         World respawnWorld = event.getRespawnLocation().getWorld();
         String respawnWorldName = respawnWorld.getName();
 
-        // Speedrun world names
-        String speedRunOverworldName = worlds.getOverworld().getName();
-        String speedRunNetherName = worlds.getNether().getName();
-        String speedRunEndName = worlds.getEnd().getName();
-
         // Let the event pass if it is in a speedrun world
-        if (respawnWorldName.equals(speedRunOverworldName) ||
-                respawnWorldName.equals(speedRunNetherName) ||
-                respawnWorldName.equals(speedRunEndName)
-        ) return;
+        if (worlds.contains(respawnWorldName)) return;
 
         // Otherwise, overwrite the respawn location
         Player player = speedrunner.getPlayer();
         Location bedSpawnLocation = player.getBedSpawnLocation();   // includes respawn-anchors
-        boolean isBedSpawnLocationInSpeedrun = bedSpawnLocation != null && (
-                bedSpawnLocation.getWorld().getName().equals(speedRunOverworldName) ||
-                bedSpawnLocation.getWorld().getName().equals(speedRunNetherName) ||
-                bedSpawnLocation.getWorld().getName().equals(speedRunEndName)
-        );
+        boolean isBedSpawnLocationInSpeedrun = bedSpawnLocation != null
+                && worlds.contains(bedSpawnLocation.getWorld().getName());
 
         // Overwrite the spawn location at the bed/respawn-anchor if set
         if (isBedSpawnLocationInSpeedrun) {
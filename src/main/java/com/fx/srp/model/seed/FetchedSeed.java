@@ -0,0 +1,22 @@
+package com.fx.srp.model.seed;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * A seed as returned by the seeds API, together with the metadata the API returned alongside it.
+ */
+@Getter
+@AllArgsConstructor
+public class FetchedSeed {
+
+    private final long seed;
+
+    // The FSG name of the type of the seed, or null if the response did not include it
+    private final String seedType;
+
+    // Any other scalar fields of the seed, such as verification info, by field name
+    private final Map<String, String> metadata;
+}
@@ -2,8 +2,7 @@ package com.fx.srp.model.seed;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-
-import java.util.List;
+import lombok.Setter;
 
 /**
  * Represents a category of seeds used for controlled or filtered world generation.
@@ -12,7 +11,8 @@ import java.util.List;
  * <ul>
  *     <li>A {@link SeedType}, describing the world feature present near spawn</li>
  *     <li>A weight value, used for weighted random selection</li>
- *     <li>A list of long integer seed values belonging to that category</li>
+ *     <li>A {@link SeedStore} of the long integer seed values belonging to that category, swapped out as seeds
+ *     are added</li>
  * </ul>
  */
 @AllArgsConstructor
@@ -20,7 +20,7 @@ public class SeedCategory {
 
     @Getter private final SeedType seedType;
     @Getter private final int weight;
-    @Getter private final List<Long> seeds;
+    @Getter @Setter private volatile SeedStore seeds;
 
     /**
      * Represents a type of seed, with a given structure near spawn
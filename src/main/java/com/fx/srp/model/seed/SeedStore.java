@@ -0,0 +1,206 @@
+package com.fx.srp.model.seed;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only, memory-mapped view of the seeds of a {@link SeedCategory}.
+ *
+ * <p>Seeds are stored in a binary seed file: a fixed-size header followed by a packed array of big-endian longs.
+ * The file is mapped into memory rather than read onto the heap, and the n-th seed is read directly from the
+ * mapping, such that large seed pools cost neither heap space nor boxing.</p>
+ *
+ * <p>Header layout:</p>
+ * <ul>
+ *     <li>{@code int} magic number, {@code "SRPS"}</li>
+ *     <li>{@code int} format version</li>
+ *     <li>{@code long} number of seeds</li>
+ *     <li>{@code long} length of the CSV seed file the seeds were read from, in bytes</li>
+ * </ul>
+ *
+ * <p>A store is immutable; appending seeds yields a new store over the same file. Readers holding the previous
+ * store keep seeing its seeds, as seeds are only ever appended past its end.</p>
+ */
+public final class SeedStore {
+
+    private static final int MAGIC = 0x53525053;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int COUNT_OFFSET = 8;
+
+    private static final SeedStore EMPTY = new SeedStore(null, null, 0, 0L, new Object());
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int size;
+    @Getter private final long sourceLength;
+
+    // Shared by a store and the stores appended to it, such that these can be told apart from rewrites
+    private final Object lineage;
+
+    private SeedStore(Path file, MappedByteBuffer buffer, int size, long sourceLength, Object lineage) {
+        this.file = file;
+        this.buffer = buffer;
+        this.size = size;
+        this.sourceLength = sourceLength;
+        this.lineage = lineage;
+    }
+
+    /**
+     * Returns an empty store, not backed by any file.
+     *
+     * @return the empty store
+     */
+    public static SeedStore empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Maps a binary seed file.
+     *
+     * @param file the binary seed file
+     * @return the store over the file
+     * @throws IOException if the file could not be read, or is not a valid binary seed file
+     */
+    public static SeedStore open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) throw new IOException("Truncated header");
+            }
+            header.flip();
+
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) throw new IOException("Not a seed file");
+            long count = header.getLong();
+            long sourceLength = header.getLong();
+
+            // Trailing seeds of an interrupted append are ignored
+            long length = HEADER_SIZE + count * Long.BYTES;
+            if (count < 0 || count > Integer.MAX_VALUE || length > channel.size()) {
+                throw new IOException("Corrupt seed count: " + count);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            return new SeedStore(file, buffer, (int) count, sourceLength, new Object());
+        }
+    }
+
+    /**
+     * Writes a new binary seed file, replacing any existing file atomically.
+     *
+     * @param file         the binary seed file
+     * @param seeds        the seeds
+     * @param sourceLength the length of the CSV seed file the seeds were read from
+     * @return the store over the written file
+     * @throws IOException if the file could not be written
+     */
+    public static SeedStore write(Path file, long[] seeds, long sourceLength) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header(seeds.length, sourceLength), 0);
+            writeFully(channel, toBytes(seeds), HEADER_SIZE);
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return open(file);
+    }
+
+    /**
+     * Appends seeds to the file of this store.
+     *
+     * <p>The seeds are written past the end of this store first, and only then counted in the header, such that an
+     * interrupted append leaves the file as it was. Must not be called concurrently for the same file.</p>
+     *
+     * @param seeds        the seeds to append
+     * @param sourceLength the length of the CSV seed file, including the appended seeds
+     * @return a new store including the appended seeds
+     * @throws IOException if the seeds could not be appended
+     */
+    public SeedStore append(long[] seeds, long sourceLength) throws IOException {
+        if (file == null) throw new IOException("The empty store has no file");
+
+        long count = (long) size + seeds.length;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            writeFully(channel, toBytes(seeds), HEADER_SIZE + (long) size * Long.BYTES);
+            channel.force(false);
+
+            ByteBuffer header = header(count, sourceLength);
+            header.position(COUNT_OFFSET);
+            writeFully(channel, header, COUNT_OFFSET);
+            channel.force(false);
+        }
+        SeedStore appended = open(file);
+        return new SeedStore(file, appended.buffer, appended.size, appended.sourceLength, lineage);
+    }
+
+    /**
+     * Checks whether this store was appended to another store, such that it holds the seeds of the other store at
+     * the same indexes, followed by any appended seeds.
+     *
+     * @param other the other store
+     * @return {@code true} if this store is the other store, or was appended to it
+     */
+    public boolean isAppendOf(SeedStore other) {
+        return lineage == other.lineage && size >= other.size;
+    }
+
+    /**
+     * Returns the number of seeds.
+     *
+     * @return the number of seeds
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the store holds no seeds.
+     *
+     * @return {@code true} if there are no seeds
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Reads a seed.
+     *
+     * @param index the index of the seed
+     * @return the seed
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public long get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Seed index: " + index);
+        return buffer.getLong(HEADER_SIZE + index * Long.BYTES);
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private static ByteBuffer header(long count, long sourceLength) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putLong(count).putLong(sourceLength);
+        return header.flip();
+    }
+
+    private static ByteBuffer toBytes(long[] seeds) {
+        ByteBuffer bytes = ByteBuffer.allocate(seeds.length * Long.BYTES);
+        bytes.asLongBuffer().put(seeds);
+        return bytes;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer bytes, long position) throws IOException {
+        while (bytes.hasRemaining()) {
+            position += channel.write(bytes, position);
+        }
+    }
+}
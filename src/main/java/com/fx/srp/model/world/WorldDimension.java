@@ -0,0 +1,41 @@
+package com.fx.srp.model.world;
+
+import lombok.Getter;
+import org.bukkit.PortalType;
+import org.bukkit.World;
+
+/**
+ * Represents one of the three dimensions that make up a speedrun world set.
+ *
+ * <p>Each dimension knows its {@link World.Environment}, the folder, relative to the world folder,
+ * in which Bukkit stores its region files, and the type of portal leading into it from the overworld.</p>
+ */
+@Getter
+public enum WorldDimension {
+    OVERWORLD(World.Environment.NORMAL, "region", null),
+    NETHER(World.Environment.NETHER, "DIM-1/region", PortalType.NETHER),
+    END(World.Environment.THE_END, "DIM1/region", PortalType.ENDER);
+
+    private final World.Environment environment;
+    private final String regionFolder;
+    private final PortalType portalType;
+
+    WorldDimension(World.Environment environment, String regionFolder, PortalType portalType) {
+        this.environment = environment;
+        this.regionFolder = regionFolder;
+        this.portalType = portalType;
+    }
+
+    /**
+     * Returns the dimension of a world environment.
+     *
+     * @param environment the world environment
+     * @return the dimension, {@link #OVERWORLD} for any environment other than the nether and end
+     */
+    public static WorldDimension of(World.Environment environment) {
+        for (WorldDimension dimension : values()) {
+            if (dimension.environment == environment) return dimension;
+        }
+        return OVERWORLD;
+    }
+}
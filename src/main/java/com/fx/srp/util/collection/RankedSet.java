@@ -0,0 +1,198 @@
+package com.fx.srp.util.collection;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A sorted set that tells the rank of an element, the number of smaller elements, in logarithmic time.
+ *
+ * <p>The set is a treap: a binary search tree whose nodes are also heap-ordered by a random priority, which keeps
+ * the tree balanced in expectation. Every node counts the nodes of its subtree, such that the rank of an element is
+ * summed up on the way down to it. Adding and removing an element take expected logarithmic time as well. The set
+ * is not thread-safe.</p>
+ *
+ * @param <E> the type of the elements
+ */
+public class RankedSet<E> implements Iterable<E> {
+
+    private final Comparator<? super E> comparator;
+    private Node<E> root;
+
+    /**
+     * Constructs an empty set.
+     *
+     * @param comparator the order of the elements, consistent with equals
+     */
+    public RankedSet(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Adds an element, unless the set holds it already.
+     *
+     * @param element the element
+     * @return {@code true} if the set changed
+     */
+    public boolean add(E element) {
+        int size = size();
+        root = insert(root, element);
+        return size() != size;
+    }
+
+    /**
+     * Removes an element.
+     *
+     * @param element the element
+     * @return {@code true} if the set held the element
+     */
+    public boolean remove(E element) {
+        int size = size();
+        root = delete(root, element);
+        return size() != size;
+    }
+
+    /**
+     * Returns the rank of an element, whether or not the set holds it.
+     *
+     * @param element the element
+     * @return the number of elements of the set smaller than the element
+     */
+    public int rank(E element) {
+        int rank = 0;
+        Node<E> node = root;
+        while (node != null) {
+            int comparison = comparator.compare(element, node.element);
+            if (comparison <= 0) {
+                if (comparison == 0) return rank + size(node.left);
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the number of elements.
+     *
+     * @return the size of the set
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Iterates over the elements, smallest first. The set must not be changed during the iteration.
+     *
+     * @return the iterator
+     */
+    @Override
+    public Iterator<E> iterator() {
+        Deque<Node<E>> path = new ArrayDeque<>();
+        for (Node<E> node = root; node != null; node = node.left) {
+            path.push(node);
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (path.isEmpty()) throw new NoSuchElementException();
+                Node<E> next = path.pop();
+                for (Node<E> node = next.right; node != null; node = node.left) {
+                    path.push(node);
+                }
+                return next.element;
+            }
+        };
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private Node<E> insert(Node<E> node, E element) {
+        if (node == null) return new Node<>(element, ThreadLocalRandom.current().nextInt());
+
+        int comparison = comparator.compare(element, node.element);
+        if (comparison == 0) return node;
+        if (comparison < 0) {
+            node.left = insert(node.left, element);
+            if (node.left.priority > node.priority) node = rotateRight(node);
+        } else {
+            node.right = insert(node.right, element);
+            if (node.right.priority > node.priority) node = rotateLeft(node);
+        }
+        return update(node);
+    }
+
+    private Node<E> delete(Node<E> node, E element) {
+        if (node == null) return null;
+
+        int comparison = comparator.compare(element, node.element);
+        if (comparison < 0) {
+            node.left = delete(node.left, element);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, element);
+        } else {
+            // Rotate the node down below its higher-priority child, until it has at most one child
+            if (node.left == null) return node.right;
+            if (node.right == null) return node.left;
+            if (node.left.priority > node.right.priority) {
+                node = rotateRight(node);
+                node.right = delete(node.right, element);
+            } else {
+                node = rotateLeft(node);
+                node.left = delete(node.left, element);
+            }
+        }
+        return update(node);
+    }
+
+    private Node<E> rotateRight(Node<E> node) {
+        Node<E> left = node.left;
+        node.left = left.right;
+        left.right = update(node);
+        return update(left);
+    }
+
+    private Node<E> rotateLeft(Node<E> node) {
+        Node<E> right = node.right;
+        node.right = right.left;
+        right.left = update(node);
+        return update(right);
+    }
+
+    private static <E> Node<E> update(Node<E> node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * A node of the tree, with the size of its subtree.
+     */
+    private static final class Node<E> {
+        private final E element;
+        private final int priority;
+        private Node<E> left;
+        private Node<E> right;
+        private int size = 1;
+
+        private Node(E element, int priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.fx.srp.util.hash;
+
+import lombok.Getter;
+
+/**
+ * A fixed-size Bloom filter over {@code long} values.
+ *
+ * <p>The filter answers whether a value was added, with no false negatives and a false positive rate bounded by
+ * the rate it was sized for, as long as no more than its expected number of values are added. Each value is
+ * hashed by double hashing of two mixed 64-bit hashes, so that adding and testing allocate nothing.</p>
+ */
+public class BloomFilter {
+
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashCount;
+    @Getter private int insertions;
+
+    /**
+     * Constructs an empty Bloom filter.
+     *
+     * @param expectedInsertions  the number of values the filter is sized for
+     * @param falsePositiveRate   the false positive rate at the expected number of values
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.max(Long.SIZE, Math.min(Integer.MAX_VALUE - Long.SIZE, m));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.bits = new long[(bitCount + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    /**
+     * Restores a Bloom filter from its words, as returned by {@link #getWords()}.
+     *
+     * @param expectedInsertions the number of values the filter was sized for
+     * @param falsePositiveRate  the false positive rate the filter was sized for
+     * @param words              the words of the filter
+     * @param insertions         the number of values added to the filter
+     * @throws IllegalArgumentException if the words do not match the size of the filter
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate, long[] words, int insertions) {
+        this(expectedInsertions, falsePositiveRate);
+        if (words.length != bits.length) throw new IllegalArgumentException("Mismatched Bloom filter size");
+
+        System.arraycopy(words, 0, bits, 0, words.length);
+        this.insertions = insertions;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value
+     */
+    public void add(long value) {
+        long hash1 = mix(value);
+        long hash2 = mix(hash1) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (int) Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+        insertions++;
+    }
+
+    /**
+     * Checks whether a value might have been added.
+     *
+     * @param value the value
+     * @return {@code false} if the value was definitely not added, {@code true} if it probably was
+     */
+    public boolean mightContain(long value) {
+        long hash1 = mix(value);
+        long hash2 = mix(hash1) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (int) Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a copy of the words backing the filter, for persistence.
+     *
+     * @return the words of the filter
+     */
+    public long[] getWords() {
+        return bits.clone();
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    // SplitMix64 finalizer
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,115 @@
+package com.fx.srp.util.hash;
+
+/**
+ * A hash set of primitive {@code long} values, with open addressing and linear probing.
+ *
+ * <p>Values are stored unboxed in a single array, which is doubled once it is half full. As {@code 0} marks an
+ * empty slot, the value {@code 0} itself is tracked separately. The set is not thread-safe.</p>
+ */
+public class LongHashSet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] slots;
+    private boolean containsZero;
+    private int size;
+
+    /**
+     * Constructs an empty set.
+     */
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty set, sized to hold the expected number of values without growing.
+     *
+     * @param expectedSize the expected number of values
+     */
+    public LongHashSet(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2L && capacity < 1 << 30) {
+            capacity <<= 1;
+        }
+        this.slots = new long[capacity];
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value
+     * @return {@code true} if the value was not yet in the set
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            if (containsZero) return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+
+        int mask = slots.length - 1;
+        int index = indexOf(value, mask);
+        while (slots[index] != 0) {
+            if (slots[index] == value) return false;
+            index = (index + 1) & mask;
+        }
+        slots[index] = value;
+        size++;
+
+        if (size * 2 > slots.length) grow();
+        return true;
+    }
+
+    /**
+     * Checks whether a value is in the set.
+     *
+     * @param value the value
+     * @return {@code true} if the value is in the set
+     */
+    public boolean contains(long value) {
+        if (value == 0) return containsZero;
+
+        int mask = slots.length - 1;
+        int index = indexOf(value, mask);
+        while (slots[index] != 0) {
+            if (slots[index] == value) return true;
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of values in the set.
+     *
+     * @return the size of the set
+     */
+    public int size() {
+        return size;
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private void grow() {
+        long[] old = slots;
+        slots = new long[old.length * 2];
+
+        int mask = slots.length - 1;
+        for (long value : old) {
+            if (value == 0) continue;
+
+            int index = indexOf(value, mask);
+            while (slots[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            slots[index] = value;
+        }
+    }
+
+    private static int indexOf(long value, int mask) {
+        // Spread the bits of the value, such that sequential values do not cluster
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
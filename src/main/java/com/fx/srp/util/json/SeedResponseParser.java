@@ -0,0 +1,276 @@
+package com.fx.srp.util.json;
+
+import com.fx.srp.model.seed.FetchedSeed;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A streaming parser for the JSON responses of the seeds API.
+ *
+ * <p>The response is read from the body stream through a small fixed buffer, without building the whole body in
+ * memory. Every JSON object with a {@code "seed"} field, at any depth, yields a {@link FetchedSeed}: the seed may be
+ * a string or a number, {@code "seedType"} is taken as its type, and any other scalar field is kept as metadata.
+ * Field order and whitespace do not matter. Responses of batch endpoints, either an array of seeds or an object
+ * holding such an array, therefore yield all their seeds.</p>
+ *
+ * <p>Seeds are parsed from the characters in the reused text buffer, such that only metadata allocates strings. An
+ * object whose seed is not a valid long is skipped. A parser instance reads a single response and is not
+ * thread-safe.</p>
+ */
+public final class SeedResponseParser {
+
+    private static final int BUFFER_SIZE = 512;
+    private static final int MAX_DEPTH = 32;
+    private static final String SEED_FIELD = "seed";
+    private static final String SEED_TYPE_FIELD = "seedType";
+
+    // Single-character escapes, and the characters they stand for
+    private static final String ESCAPES = "\"\\/bfnrt";
+    private static final String UNESCAPED = "\"\\/\b\f\n\r\t";
+
+    private final InputStream input;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long offset;
+
+    // Text of the current string or number, reused across tokens
+    private final StringBuilder text = new StringBuilder();
+    private final List<FetchedSeed> seeds = new ArrayList<>();
+
+    private SeedResponseParser(InputStream input) {
+        this.input = input;
+    }
+
+    /**
+     * Parses a response body.
+     *
+     * @param input the response body, which is read to the end of the first JSON value but not closed
+     * @return the seeds in the response, in order, possibly empty
+     * @throws IOException if the body could not be read, or is not valid JSON
+     */
+    public static List<FetchedSeed> parse(InputStream input) throws IOException {
+        SeedResponseParser parser = new SeedResponseParser(input);
+        int first = parser.nextNonWhitespace();
+        if (first < 0) return List.of();
+
+        // A bare seed is a response too
+        if (first == '"' || first == '-' || isDigit(first)) {
+            parser.readScalar(first);
+            parser.seeds.add(new FetchedSeed(parser.parseSeed(), null, Map.of()));
+        } else {
+            parser.parseValue(first, 0);
+        }
+        return parser.seeds;
+    }
+
+    /* ==========================================================
+     *                       STRUCTURE
+     * ========================================================== */
+    private void parseValue(int first, int depth) throws IOException {
+        if (depth > MAX_DEPTH) throw error("Nesting too deep");
+
+        if (first == '{') parseObject(depth);
+        else if (first == '[') parseArray(depth);
+        else readScalar(first);
+    }
+
+    private void parseArray(int depth) throws IOException {
+        int next = nextNonWhitespace();
+        if (next == ']') return;
+
+        while (true) {
+            parseValue(next, depth + 1);
+
+            int separator = nextNonWhitespace();
+            if (separator == ']') return;
+            if (separator != ',') throw error("Expected ',' or ']'");
+            next = nextNonWhitespace();
+        }
+    }
+
+    private void parseObject(int depth) throws IOException {
+        boolean hasSeed = false;
+        long seed = 0L;
+        String seedType = null;
+        Map<String, String> metadata = null;
+
+        int next = nextNonWhitespace();
+        while (next != '}') {
+            if (next != '"') throw error("Expected a field name");
+            readString();
+            boolean isSeed = contentEquals(SEED_FIELD);
+            boolean isSeedType = contentEquals(SEED_TYPE_FIELD);
+            String field = isSeed || isSeedType ? null : text.toString();
+
+            if (nextNonWhitespace() != ':') throw error("Expected ':'");
+            int first = nextNonWhitespace();
+
+            // Nested values are traversed for seeds of their own, scalars belong to this object
+            if (first == '{' || first == '[') {
+                parseValue(first, depth + 1);
+            } else {
+                readScalar(first);
+                if (isSeed) {
+                    // An invalid seed only drops its own object, not the rest of a batch
+                    try {
+                        seed = Long.parseLong(text, 0, text.length(), 10);
+                        hasSeed = true;
+                    } catch (NumberFormatException e) {
+                        hasSeed = false;
+                    }
+                } else if (isSeedType) {
+                    seedType = text.toString();
+                } else {
+                    if (metadata == null) metadata = new HashMap<>();
+                    metadata.put(field, text.toString());
+                }
+            }
+
+            int separator = nextNonWhitespace();
+            if (separator == ',') next = nextNonWhitespace();
+            else if (separator == '}') next = '}';
+            else throw error("Expected ',' or '}'");
+        }
+
+        if (hasSeed) seeds.add(new FetchedSeed(seed, seedType, metadata == null ? Map.of() : metadata));
+    }
+
+    /* ==========================================================
+     *                        SCALARS
+     * ========================================================== */
+    private void readScalar(int first) throws IOException {
+        if (first == '"') {
+            readString();
+            return;
+        }
+
+        // Numbers and literals run until the next structural character or whitespace
+        text.setLength(0);
+        int next = first;
+        while (next >= 0 && next != ',' && next != '}' && next != ']' && !isWhitespace(next)) {
+            if (next == '"' || next == '{' || next == '[' || next == ':') throw error("Unexpected character");
+            text.append((char) next);
+            next = read();
+        }
+        if (next >= 0) position--;
+        if (text.length() == 0) throw error("Expected a value");
+    }
+
+    private void readString() throws IOException {
+        text.setLength(0);
+        while (true) {
+            int next = read();
+            if (next < 0) throw error("Unterminated string");
+            if (next == '"') return;
+
+            if (next == '\\') {
+                readEscape();
+            } else if (next < 0x80) {
+                text.append((char) next);
+            } else {
+                readUtf8(next);
+            }
+        }
+    }
+
+    private void readEscape() throws IOException {
+        int escaped = read();
+        int simple = ESCAPES.indexOf(escaped);
+        if (simple >= 0) {
+            text.append(UNESCAPED.charAt(simple));
+            return;
+        }
+        if (escaped != 'u') throw error("Invalid escape");
+
+        int codeUnit = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(read(), 16);
+            if (digit < 0) throw error("Invalid unicode escape");
+            codeUnit = (codeUnit << 4) | digit;
+        }
+        text.append((char) codeUnit);
+    }
+
+    private void readUtf8(int lead) throws IOException {
+        int continuations;
+        int codePoint;
+        if ((lead & 0xE0) == 0xC0) {
+            continuations = 1;
+            codePoint = lead & 0x1F;
+        } else if ((lead & 0xF0) == 0xE0) {
+            continuations = 2;
+            codePoint = lead & 0x0F;
+        } else if ((lead & 0xF8) == 0xF0) {
+            continuations = 3;
+            codePoint = lead & 0x07;
+        } else {
+            throw error("Invalid UTF-8");
+        }
+
+        for (int i = 0; i < continuations; i++) {
+            int next = read();
+            if (next < 0 || (next & 0xC0) != 0x80) throw error("Invalid UTF-8");
+            codePoint = (codePoint << 6) | (next & 0x3F);
+        }
+        if (!Character.isValidCodePoint(codePoint)) throw error("Invalid UTF-8");
+        text.appendCodePoint(codePoint);
+    }
+
+    private long parseSeed() throws IOException {
+        try {
+            return Long.parseLong(text, 0, text.length(), 10);
+        } catch (NumberFormatException e) {
+            throw error("Invalid seed: " + text);
+        }
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private int read() throws IOException {
+        if (position == limit) {
+            offset += limit;
+            limit = input.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        int next = read();
+        while (isWhitespace(next)) {
+            next = read();
+        }
+        return next;
+    }
+
+    private boolean contentEquals(String value) {
+        if (text.length() != value.length()) return false;
+        for (int i = 0; i < value.length(); i++) {
+            if (text.charAt(i) != value.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private IOException error(String message) {
+        return new IOException(message + " at byte " + (offset + position));
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+}
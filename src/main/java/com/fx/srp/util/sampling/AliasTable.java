@@ -0,0 +1,87 @@
+package com.fx.srp.util.sampling;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An immutable alias table for sampling from a discrete weighted distribution in constant time.
+ *
+ * <p>The table is built once with Vose's alias method in linear time. Every sample then takes a single uniform
+ * column roll and a single biased coin flip, without allocating. Rebuild the table when the weights change.</p>
+ */
+public class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * Builds an alias table over the given weights.
+     *
+     * @param weights the non-negative weight of each outcome, at least one of which must be positive
+     * @throws IllegalArgumentException if no weight is positive, or a weight is negative
+     */
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0) throw new IllegalArgumentException("Negative weight: " + weight);
+            total += weight;
+        }
+        if (total <= 0) throw new IllegalArgumentException("No positive weight");
+
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        // Scale the weights such that the average column holds exactly 1
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) small[smallSize++] = i;
+            else large[largeSize++] = i;
+        }
+
+        // Fill each underfull column with the excess of an overfull one
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+
+            probability[less] = scaled[less];
+            alias[less] = more;
+
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) small[smallSize++] = more;
+            else large[largeSize++] = more;
+        }
+
+        // The remaining columns are full, up to rounding errors
+        while (largeSize > 0) {
+            probability[large[--largeSize]] = 1.0;
+        }
+        while (smallSize > 0) {
+            probability[small[--smallSize]] = 1.0;
+        }
+    }
+
+    /**
+     * Samples an outcome.
+     *
+     * @return the index of the sampled outcome, with a probability proportional to its weight
+     */
+    public int sample() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    /**
+     * Returns the number of outcomes.
+     *
+     * @return the size of the table
+     */
+    public int size() {
+        return probability.length;
+    }
+}
@@ -0,0 +1,147 @@
+package com.fx.srp.util.sampling;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A Fenwick tree (binary indexed tree) over mutable weights, for sampling from a discrete weighted distribution.
+ *
+ * <p>Unlike an {@link AliasTable}, the weights can be changed after the tree is built: changing a single weight
+ * and sampling an outcome both take logarithmic time. The tree is built in linear time, and outcomes can be added
+ * to it in amortized logarithmic time. The tree is not thread-safe.</p>
+ */
+public class FenwickTree {
+
+    // Both arrays have spare capacity past the size, for added outcomes
+    private double[] weights;
+    private double[] tree;
+    private int size;
+    private int highestStep;
+
+    /**
+     * Builds a Fenwick tree over the given weights.
+     *
+     * @param weights the non-negative weight of each outcome, copied
+     * @throws IllegalArgumentException if a weight is negative
+     */
+    public FenwickTree(double[] weights) {
+        int n = weights.length;
+        this.weights = new double[n];
+        this.tree = new double[n + 1];
+        this.size = n;
+        this.highestStep = n == 0 ? 0 : Integer.highestOneBit(n);
+
+        // Add each node to its parent, rather than adding each weight to all its ancestors
+        for (int i = 0; i < n; i++) {
+            if (weights[i] < 0) throw new IllegalArgumentException("Negative weight: " + weights[i]);
+            this.weights[i] = weights[i];
+            tree[i + 1] += weights[i];
+
+            int parent = (i + 1) + ((i + 1) & -(i + 1));
+            if (parent <= n) tree[parent] += tree[i + 1];
+        }
+    }
+
+    /**
+     * Adds an outcome, following the current ones.
+     *
+     * @param weight the non-negative weight of the outcome
+     * @throws IllegalArgumentException if the weight is negative
+     */
+    public void add(double weight) {
+        if (weight < 0) throw new IllegalArgumentException("Negative weight: " + weight);
+
+        if (size == weights.length) {
+            weights = Arrays.copyOf(weights, Math.max(1, size * 2));
+            tree = Arrays.copyOf(tree, weights.length + 1);
+        }
+        weights[size] = weight;
+
+        // The new node sums its own weight and the nodes of its children, which all precede it
+        int node = size + 1;
+        double sum = weight;
+        for (int child = node - 1; child > node - (node & -node); child -= child & -child) {
+            sum += tree[child];
+        }
+        tree[node] = sum;
+
+        size++;
+        highestStep = Integer.highestOneBit(size);
+    }
+
+    /**
+     * Changes the weight of an outcome.
+     *
+     * @param index  the index of the outcome
+     * @param weight the new, non-negative weight
+     * @throws IllegalArgumentException if the weight is negative
+     */
+    public void set(int index, double weight) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index);
+        if (weight < 0) throw new IllegalArgumentException("Negative weight: " + weight);
+
+        double delta = weight - weights[index];
+        weights[index] = weight;
+        for (int node = index + 1; node <= size; node += node & -node) {
+            tree[node] += delta;
+        }
+    }
+
+    /**
+     * Returns the weight of an outcome.
+     *
+     * @param index the index of the outcome
+     * @return the weight
+     */
+    public double get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index);
+        return weights[index];
+    }
+
+    /**
+     * Returns the sum of all weights.
+     *
+     * @return the total weight
+     */
+    public double total() {
+        double total = 0;
+        for (int node = size; node > 0; node -= node & -node) {
+            total += tree[node];
+        }
+        return total;
+    }
+
+    /**
+     * Samples an outcome.
+     *
+     * @return the index of the sampled outcome, with a probability proportional to its weight
+     * @throws IllegalStateException if no weight is positive
+     */
+    public int sample() {
+        double total = total();
+        if (total <= 0) throw new IllegalStateException("No positive weight");
+
+        // Descend to the last node whose prefix sum does not exceed the target
+        double target = ThreadLocalRandom.current().nextDouble() * total;
+        int node = 0;
+        for (int step = highestStep; step > 0; step >>= 1) {
+            int next = node + step;
+            if (next <= size && tree[next] <= target) {
+                node = next;
+                target -= tree[next];
+            }
+        }
+
+        // The outcome is the one following that node, unless rounding errors carried past the end
+        return Math.min(node, size - 1);
+    }
+
+    /**
+     * Returns the number of outcomes.
+     *
+     * @return the size of the tree
+     */
+    public int size() {
+        return size;
+    }
+}
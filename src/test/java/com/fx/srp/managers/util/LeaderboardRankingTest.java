@@ -0,0 +1,149 @@
+package com.fx.srp.managers.util;
+
+import com.fx.srp.managers.util.LeaderboardManager.RunEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaderboardRankingTest {
+
+    private static final UUID ALICE = new UUID(0, 1);
+    private static final UUID BOB = new UUID(0, 2);
+    private static final UUID CAROL = new UUID(0, 3);
+
+    @Test
+    void replacesPersonalBestInOnePerPlayerMode() {
+        LeaderboardRanking ranking = new LeaderboardRanking(10, true);
+        RunEntry first = run("Alice", ALICE, 5000, 1);
+        RunEntry bob = run("Bob", BOB, 4000, 2);
+        RunEntry faster = run("Alice", ALICE, 3000, 3);
+
+        assertTrue(ranking.add(first));
+        assertTrue(ranking.add(bob));
+        assertTrue(ranking.add(faster));
+
+        // The faster run takes over the place of the previous one
+        assertEquals(List.of(faster, bob), new ArrayList<>(ranking.getBoard()));
+        assertSame(faster, ranking.getPersonalBest(ALICE));
+        assertEquals(0, ranking.getPlace(first));
+        assertEquals(1, ranking.getPlace(faster));
+        assertEquals(1, ranking.getRank(ALICE));
+        assertEquals(2, ranking.getRank(BOB));
+        assertEquals(2, ranking.getPlayerCount());
+    }
+
+    @Test
+    void keepsPersonalBestInOnePerPlayerMode() {
+        LeaderboardRanking ranking = new LeaderboardRanking(10, true);
+        RunEntry best = run("Alice", ALICE, 3000, 1);
+        ranking.add(best);
+
+        // A slower run, or an equally fast later one, does not change anything
+        assertFalse(ranking.add(run("Alice", ALICE, 5000, 2)));
+        assertFalse(ranking.add(run("Alice", ALICE, 3000, 3)));
+
+        assertEquals(List.of(best), new ArrayList<>(ranking.getBoard()));
+        assertSame(best, ranking.getPersonalBest(ALICE));
+    }
+
+    @Test
+    void keepsEveryRunWithoutOnePerPlayerMode() {
+        LeaderboardRanking ranking = new LeaderboardRanking(10, false);
+        RunEntry slow = run("Alice", ALICE, 5000, 1);
+        RunEntry fast = run("Alice", ALICE, 3000, 2);
+
+        assertTrue(ranking.add(slow));
+        assertTrue(ranking.add(fast));
+
+        assertEquals(List.of(fast, slow), new ArrayList<>(ranking.getBoard()));
+        assertSame(fast, ranking.getPersonalBest(ALICE));
+        assertEquals(1, ranking.getPlayerCount());
+    }
+
+    @Test
+    void rejectsSlowRunsOnFullBoard() {
+        LeaderboardRanking ranking = new LeaderboardRanking(2, false);
+        RunEntry first = run("Alice", ALICE, 1000, 1);
+        RunEntry second = run("Bob", BOB, 2000, 2);
+        ranking.add(first);
+        ranking.add(second);
+
+        // Slower than the slowest run, and as fast but finished later
+        assertFalse(ranking.add(run("Carol", CAROL, 3000, 3)));
+        assertFalse(ranking.add(run("Carol", CAROL, 2000, 4)));
+        assertEquals(List.of(first, second), new ArrayList<>(ranking.getBoard()));
+
+        // Rejected runs still count as personal bests
+        assertEquals(3, ranking.getRank(CAROL));
+        assertEquals(3, ranking.getPlayerCount());
+    }
+
+    @Test
+    void evictsSlowestRunFromFullBoard() {
+        LeaderboardRanking ranking = new LeaderboardRanking(2, false);
+        RunEntry first = run("Alice", ALICE, 1000, 1);
+        RunEntry second = run("Bob", BOB, 2000, 2);
+        RunEntry carol = run("Carol", CAROL, 1500, 3);
+        ranking.add(first);
+        ranking.add(second);
+
+        assertTrue(ranking.add(carol));
+        assertEquals(List.of(first, carol), new ArrayList<>(ranking.getBoard()));
+        assertEquals(0, ranking.getPlace(second));
+        assertEquals(2, ranking.getPlace(carol));
+    }
+
+    @Test
+    void findsPersonalBestByNameIgnoringCase() {
+        LeaderboardRanking ranking = new LeaderboardRanking(10, true);
+        ranking.add(run("Alice", ALICE, 5000, 1));
+        RunEntry renamed = run("Alicia", ALICE, 4000, 2);
+        ranking.add(renamed);
+
+        assertSame(renamed, ranking.findPersonalBest("ALICIA"));
+        assertNull(ranking.findPersonalBest("alice"));
+        assertNull(ranking.findPersonalBest("bob"));
+    }
+
+    @Test
+    void snapshotRestoresRanking() {
+        LeaderboardRanking ranking = new LeaderboardRanking(1, true);
+        ranking.add(run("Alice", ALICE, 1000, 1));
+        ranking.add(run("Bob", BOB, 2000, 2));
+        ranking.add(run("Carol", CAROL, 3000, 3));
+
+        LeaderboardRanking restored = new LeaderboardRanking(1, true);
+        ranking.snapshot().forEach(restored::add);
+
+        assertEquals(new ArrayList<>(ranking.getBoard()), new ArrayList<>(restored.getBoard()));
+        for (UUID player : List.of(ALICE, BOB, CAROL)) {
+            assertSame(ranking.getPersonalBest(player), restored.getPersonalBest(player));
+            assertEquals(ranking.getRank(player), restored.getRank(player));
+        }
+    }
+
+    @Test
+    void emptyCapacityKeepsPersonalBests() {
+        LeaderboardRanking ranking = new LeaderboardRanking(0, false);
+
+        assertFalse(ranking.add(run("Alice", ALICE, 1000, 1)));
+        assertTrue(ranking.getBoard().isEmpty());
+        assertEquals(1, ranking.getRank(ALICE));
+        assertEquals(0, ranking.getRank(BOB));
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private static RunEntry run(String playerName, UUID player, long time, long finishedAt) {
+        return new RunEntry(playerName, player, time, finishedAt);
+    }
+}
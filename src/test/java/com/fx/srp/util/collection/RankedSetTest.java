@@ -0,0 +1,122 @@
+package com.fx.srp.util.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RankedSetTest {
+
+    private static final int OPERATIONS = 20_000;
+    private static final int VALUES = 2_000;
+
+    @Test
+    void matchesSortedListUnderRandomChanges() {
+        Random random = new Random(42);
+        RankedSet<Integer> set = new RankedSet<>(Comparator.naturalOrder());
+        List<Integer> sorted = new ArrayList<>();
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            int value = random.nextInt(VALUES);
+            int index = Collections.binarySearch(sorted, value);
+
+            // Mostly adds, such that the set grows, but removes of present and absent values too
+            if (random.nextInt(3) > 0) {
+                assertEquals(index < 0, set.add(value));
+                if (index < 0) sorted.add(-index - 1, value);
+            } else {
+                assertEquals(index >= 0, set.remove(value));
+                if (index >= 0) sorted.remove(index);
+            }
+            assertEquals(sorted.size(), set.size());
+
+            if (i % 1000 == 0) assertMatches(sorted, set);
+        }
+        assertMatches(sorted, set);
+    }
+
+    @Test
+    void ranksAbsentElements() {
+        RankedSet<Integer> set = new RankedSet<>(Comparator.naturalOrder());
+        for (int value : new int[] {10, 20, 30}) {
+            set.add(value);
+        }
+
+        assertEquals(0, set.rank(5));
+        assertEquals(1, set.rank(15));
+        assertEquals(2, set.rank(25));
+        assertEquals(3, set.rank(35));
+    }
+
+    @Test
+    void ordersByComparator() {
+        RankedSet<String> set = new RankedSet<>(Comparator.comparing(String::length).reversed());
+        set.add("a");
+        set.add("ccc");
+        set.add("bb");
+
+        assertEquals(List.of("ccc", "bb", "a"), toList(set));
+        assertEquals(0, set.rank("xyz"));
+        assertEquals(2, set.rank("z"));
+    }
+
+    @Test
+    void emptySet() {
+        RankedSet<Integer> set = new RankedSet<>(Comparator.naturalOrder());
+
+        assertEquals(0, set.size());
+        assertEquals(0, set.rank(1));
+        assertFalse(set.remove(1));
+        assertFalse(set.iterator().hasNext());
+        assertThrows(NoSuchElementException.class, () -> set.iterator().next());
+    }
+
+    @Test
+    void removesEverything() {
+        RankedSet<Integer> set = new RankedSet<>(Comparator.naturalOrder());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(set.add(i));
+        }
+        for (int i = 99; i >= 0; i -= 2) {
+            assertTrue(set.remove(i));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            assertTrue(set.remove(i));
+        }
+
+        assertEquals(0, set.size());
+        assertFalse(set.iterator().hasNext());
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private static void assertMatches(List<Integer> sorted, RankedSet<Integer> set) {
+        assertEquals(sorted, toList(set));
+
+        // The rank of present and absent values alike is their insertion point in the sorted list
+        for (int value = -1; value <= VALUES; value++) {
+            int index = Collections.binarySearch(sorted, value);
+            assertEquals(index >= 0 ? index : -index - 1, set.rank(value), "rank of " + value);
+        }
+    }
+
+    private static <E> List<E> toList(RankedSet<E> set) {
+        List<E> elements = new ArrayList<>();
+        Iterator<E> iterator = set.iterator();
+        while (iterator.hasNext()) {
+            elements.add(iterator.next());
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,110 @@
+package com.fx.srp.util.hash;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    private static final int EXPECTED_INSERTIONS = 10_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int PROBES = 1_000_000;
+
+    @Test
+    void hasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+        Random random = new Random(1);
+        long[] values = random.longs(EXPECTED_INSERTIONS).toArray();
+        for (long value : values) {
+            filter.add(value);
+        }
+
+        for (long value : values) {
+            assertTrue(filter.mightContain(value), "added " + value);
+        }
+        assertEquals(EXPECTED_INSERTIONS, filter.getInsertions());
+    }
+
+    @Test
+    void keepsFalsePositiveRateAtExpectedInsertions() {
+        BloomFilter filter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+
+        // Seeds are often small or sequential, the hashing must spread those as well as random ones
+        for (long value = 0; value < EXPECTED_INSERTIONS; value++) {
+            filter.add(value);
+        }
+
+        int falsePositives = 0;
+        for (long value = EXPECTED_INSERTIONS; value < EXPECTED_INSERTIONS + PROBES; value++) {
+            if (filter.mightContain(value)) falsePositives++;
+        }
+
+        // Within a margin of the rate the filter was sized for
+        double rate = (double) falsePositives / PROBES;
+        assertTrue(rate < FALSE_POSITIVE_RATE * 1.5, "false positive rate " + rate);
+    }
+
+    @Test
+    void keepsFalsePositiveRateForRandomValues() {
+        BloomFilter filter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+        Random random = new Random(2);
+        for (int i = 0; i < EXPECTED_INSERTIONS; i++) {
+            filter.add(random.nextLong());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (filter.mightContain(random.nextLong())) falsePositives++;
+        }
+
+        double rate = (double) falsePositives / PROBES;
+        assertTrue(rate < FALSE_POSITIVE_RATE * 1.5, "false positive rate " + rate);
+    }
+
+    @Test
+    void restoresFromWords() {
+        BloomFilter filter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+        Random random = new Random(3);
+        for (int i = 0; i < 1000; i++) {
+            filter.add(random.nextLong());
+        }
+
+        BloomFilter restored = new BloomFilter(
+                EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE, filter.getWords(), filter.getInsertions()
+        );
+
+        assertArrayEquals(filter.getWords(), restored.getWords());
+        assertEquals(filter.getInsertions(), restored.getInsertions());
+        for (int i = 0; i < PROBES / 10; i++) {
+            long value = random.nextLong();
+            assertEquals(filter.mightContain(value), restored.mightContain(value));
+        }
+    }
+
+    @Test
+    void copiesWords() {
+        BloomFilter filter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+        long[] words = filter.getWords();
+        words[0] = -1L;
+
+        BloomFilter restored = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE, words, 0);
+        words[1] = -1L;
+
+        assertEquals(0L, filter.getWords()[0]);
+        assertEquals(-1L, restored.getWords()[0]);
+        assertEquals(0L, restored.getWords()[1]);
+    }
+
+    @Test
+    void rejectsWordsOfAnotherSize() {
+        long[] words = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE).getWords();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new BloomFilter(EXPECTED_INSERTIONS * 2, FALSE_POSITIVE_RATE, words, 0));
+    }
+}
@@ -0,0 +1,198 @@
+package com.fx.srp.util.json;
+
+import com.fx.srp.model.seed.FetchedSeed;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeedResponseParserTest {
+
+    // The size of the read buffer of the parser
+    private static final int BUFFER_SIZE = 512;
+
+    @Test
+    void parsesFieldsInAnyOrder() throws IOException {
+        FetchedSeed seedFirst = parseSingle("{\"seed\":\"42\",\"seedType\":\"VILLAGE\",\"version\":\"1.16.1\"}");
+        FetchedSeed seedLast = parseSingle("{\"version\":\"1.16.1\",\"seedType\":\"VILLAGE\",\"seed\":\"42\"}");
+
+        for (FetchedSeed seed : List.of(seedFirst, seedLast)) {
+            assertEquals(42L, seed.getSeed());
+            assertEquals("VILLAGE", seed.getSeedType());
+            assertEquals(Map.of("version", "1.16.1"), seed.getMetadata());
+        }
+    }
+
+    @Test
+    void ignoresWhitespace() throws IOException {
+        FetchedSeed seed = parseSingle(" \n\t{ \"seed\" :\r\n \"-7\" ,\n \"seedType\"\t:\t\"SHIPWRECK\"\n}\n ");
+
+        assertEquals(-7L, seed.getSeed());
+        assertEquals("SHIPWRECK", seed.getSeedType());
+        assertTrue(seed.getMetadata().isEmpty());
+    }
+
+    @Test
+    void parsesNumericAndStringSeeds() throws IOException {
+        assertEquals(Long.MAX_VALUE, parseSingle("{\"seed\":9223372036854775807}").getSeed());
+        assertEquals(Long.MIN_VALUE, parseSingle("{\"seed\":\"-9223372036854775808\"}").getSeed());
+        assertEquals(123L, parseSingle("123").getSeed());
+        assertEquals(-123L, parseSingle("\"-123\"").getSeed());
+    }
+
+    @Test
+    void keepsScalarMetadata() throws IOException {
+        FetchedSeed seed = parseSingle("{\"seed\":1,\"verified\":true,\"score\":12.5,\"note\":\"a\\\"b\\u00e9\"}");
+
+        assertNull(seed.getSeedType());
+        assertEquals(Map.of("verified", "true", "score", "12.5", "note", "a\"b\u00e9"), seed.getMetadata());
+    }
+
+    @Test
+    void parsesBatchArrays() throws IOException {
+        List<FetchedSeed> seeds = parse("[{\"seed\":1},{\"seedType\":\"RP\",\"seed\":\"2\"},{\"seed\":3}]");
+
+        assertSeeds(seeds, 1L, 2L, 3L);
+        assertEquals("RP", seeds.get(1).getSeedType());
+    }
+
+    @Test
+    void parsesBatchObjects() throws IOException {
+        List<FetchedSeed> seeds = parse("{\"count\":2,\"seeds\":[{\"seed\":\"10\"},{\"seed\":20}],\"next\":null}");
+
+        assertSeeds(seeds, 10L, 20L);
+        assertTrue(seeds.get(0).getMetadata().isEmpty());
+    }
+
+    @Test
+    void parsesEmptyResponses() throws IOException {
+        assertTrue(parse("").isEmpty());
+        assertTrue(parse("  ").isEmpty());
+        assertTrue(parse("[]").isEmpty());
+        assertTrue(parse("{\"seeds\":[]}").isEmpty());
+    }
+
+    @Test
+    void skipsInvalidSeedsInBatch() throws IOException {
+        List<FetchedSeed> seeds = parse(
+                "[{\"seed\":\"1\"},{\"seed\":\"abc\"},{\"seed\":\"99999999999999999999\"},{\"seed\":4.5},{\"seed\":5}]"
+        );
+
+        assertSeeds(seeds, 1L, 5L);
+    }
+
+    @Test
+    void rejectsInvalidBareSeed() {
+        assertThrows(IOException.class, () -> parse("\"abc\""));
+    }
+
+    @Test
+    void parsesMultibyteCharactersAcrossBuffers() throws IOException {
+        // Two, three and four byte characters
+        for (String name : List.of("\u00e9", "\u20ac", "\ud83d\ude00")) {
+            int length = name.getBytes(StandardCharsets.UTF_8).length;
+
+            // Every split of the character across the end of the buffer
+            for (int split = 1; split < length; split++) {
+                String prefix = "{\"seed\":1,\"name\":\"";
+                String padding = "x".repeat(BUFFER_SIZE - split - prefix.length());
+                String json = prefix + padding + name + "\"}";
+                assertEquals(BUFFER_SIZE, prefix.length() + padding.length() + split);
+
+                FetchedSeed seed = parseSingle(json);
+                assertEquals(padding + name, seed.getMetadata().get("name"));
+            }
+        }
+    }
+
+    @Test
+    void parsesBodiesReadByteByByte() throws IOException {
+        String json = "{\"seeds\":[{\"seed\":\"7\",\"seedType\":\"VILLAGE\",\"name\":\"caf\u00e9 \ud83d\ude00\"},"
+                + "{\"seed\":8}]}";
+        List<FetchedSeed> seeds = SeedResponseParser.parse(new ByteByByteInputStream(bytes(json)));
+
+        assertSeeds(seeds, 7L, 8L);
+        assertEquals("caf\u00e9 \ud83d\ude00", seeds.get(0).getMetadata().get("name"));
+    }
+
+    @Test
+    void rejectsTruncatedBodies() {
+        String json = "{\"seeds\":[{\"seed\":\"7\",\"name\":\"\u20ac\"},{\"seed\":8}]}";
+        byte[] body = bytes(json);
+
+        // Every proper prefix that is not blank is incomplete
+        for (int length = 1; length < body.length; length++) {
+            byte[] truncated = new byte[length];
+            System.arraycopy(body, 0, truncated, 0, length);
+            assertThrows(IOException.class, () -> SeedResponseParser.parse(new ByteArrayInputStream(truncated)),
+                    "truncated to " + length + " bytes");
+        }
+    }
+
+    @Test
+    void rejectsMalformedBodies() {
+        assertThrows(IOException.class, () -> parse("{\"seed\" 1}"));
+        assertThrows(IOException.class, () -> parse("{seed:1}"));
+        assertThrows(IOException.class, () -> parse("[{\"seed\":1} {\"seed\":2}]"));
+        assertThrows(IOException.class, () -> parse("{\"seed\":\"1\\x\"}"));
+        assertThrows(IOException.class, () -> parse("[".repeat(64) + "]".repeat(64)));
+    }
+
+    /* ==========================================================
+     *                       HELPERS
+     * ========================================================== */
+    private static List<FetchedSeed> parse(String json) throws IOException {
+        return SeedResponseParser.parse(new ByteArrayInputStream(bytes(json)));
+    }
+
+    private static FetchedSeed parseSingle(String json) throws IOException {
+        List<FetchedSeed> seeds = parse(json);
+        assertEquals(1, seeds.size());
+        return seeds.get(0);
+    }
+
+    private static void assertSeeds(List<FetchedSeed> seeds, long... expected) {
+        assertEquals(expected.length, seeds.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], seeds.get(i).getSeed());
+        }
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns at most a single byte per read, like a slow connection.
+     */
+    private static final class ByteByByteInputStream extends InputStream {
+        private final byte[] bytes;
+        private int position;
+
+        private ByteByByteInputStream(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read() {
+            return position < bytes.length ? bytes[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position >= bytes.length) return -1;
+            if (length == 0) return 0;
+            buffer[offset] = bytes[position++];
+            return 1;
+        }
+    }
+}
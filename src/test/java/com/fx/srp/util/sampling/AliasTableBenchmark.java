@@ -0,0 +1,83 @@
+package com.fx.srp.util.sampling;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares picking a seed category with the {@link AliasTable} against the cumulative weight loop it replaced.
+ *
+ * <p>Skipped by default, run with {@code mvn test -Dsurefire.excludedGroups= -Dgroups=benchmark}. Each variant is
+ * warmed up before it is timed, and the sampled outcomes are summed such that the JIT cannot drop the loop.</p>
+ */
+@Tag("benchmark")
+class AliasTableBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 10;
+    private static final int SAMPLES_PER_ITERATION = 10_000_000;
+
+    @Test
+    void aliasTableAgainstCumulativeLoop() {
+        for (int categories : new int[] {4, 16, 256}) {
+            int[] weights = new int[categories];
+            double[] aliasWeights = new double[categories];
+            int total = 0;
+            for (int i = 0; i < categories; i++) {
+                weights[i] = 1 + ThreadLocalRandom.current().nextInt(10);
+                aliasWeights[i] = weights[i];
+                total += weights[i];
+            }
+            AliasTable table = new AliasTable(aliasWeights);
+            int totalWeight = total;
+
+            double alias = measure(table::sample);
+            double loop = measure(() -> sampleCumulative(weights, totalWeight));
+            System.out.printf("%d categories: alias table %.2f ns/op, cumulative loop %.2f ns/op%n",
+                    categories, alias, loop);
+        }
+    }
+
+    private static double measure(IntSampler sampler) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += run(sampler);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += run(sampler);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue(sink >= 0);
+        return (double) elapsed / ((long) MEASURED_ITERATIONS * SAMPLES_PER_ITERATION);
+    }
+
+    private static long run(IntSampler sampler) {
+        long sum = 0;
+        for (int i = 0; i < SAMPLES_PER_ITERATION; i++) {
+            sum += sampler.sample();
+        }
+        return sum;
+    }
+
+    // The selection before the alias table: a roll over the total weight, walked through the cumulative weights
+    private static int sampleCumulative(int[] weights, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        int cumulative = 0;
+        for (int i = 0; i < weights.length; i++) {
+            cumulative += weights[i];
+            if (roll < cumulative) return i;
+        }
+        return weights.length - 1;
+    }
+
+    @FunctionalInterface
+    private interface IntSampler {
+        int sample();
+    }
+}
@@ -0,0 +1,77 @@
+package com.fx.srp.util.sampling;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AliasTableTest {
+
+    private static final int SAMPLES = 1_000_000;
+
+    @Test
+    void samplesProportionallyToWeights() {
+        double[] weights = {1, 2, 3, 0, 4, 0.5};
+        int[] counts = sample(new AliasTable(weights), weights.length);
+
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        for (int i = 0; i < weights.length; i++) {
+            // Within five standard deviations of the binomial count
+            double p = weights[i] / total;
+            double expected = SAMPLES * p;
+            double tolerance = 5 * Math.sqrt(SAMPLES * p * (1 - p)) + 1;
+            assertEquals(expected, counts[i], tolerance, "outcome " + i);
+        }
+    }
+
+    @Test
+    void neverSamplesZeroWeights() {
+        double[] weights = {0, 5, 0, 0, 1, 0};
+        int[] counts = sample(new AliasTable(weights), weights.length);
+
+        assertEquals(0, counts[0]);
+        assertEquals(0, counts[2]);
+        assertEquals(0, counts[3]);
+        assertEquals(0, counts[5]);
+    }
+
+    @Test
+    void samplesSkewedWeights() {
+        // One heavy outcome among many light ones, the case the cumulative loop was slowest at
+        double[] weights = new double[1000];
+        weights[0] = 1;
+        weights[999] = 999;
+        int[] counts = sample(new AliasTable(weights), weights.length);
+
+        assertTrue(counts[999] > SAMPLES * 0.99);
+        assertEquals(SAMPLES, counts[0] + counts[999]);
+    }
+
+    @Test
+    void singleOutcome() {
+        AliasTable table = new AliasTable(new double[] {3});
+        assertEquals(1, table.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, table.sample());
+        }
+    }
+
+    @Test
+    void rejectsInvalidWeights() {
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {1, -1}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[0]));
+    }
+
+    private static int[] sample(AliasTable table, int size) {
+        int[] counts = new int[size];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[table.sample()]++;
+        }
+        return counts;
+    }
+}